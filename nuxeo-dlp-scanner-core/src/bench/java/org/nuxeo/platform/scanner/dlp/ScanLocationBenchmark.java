@@ -0,0 +1,138 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.nuxeo.platform.scanner.dlp.service.ScanLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare the locations of the findings of a document written as {@link JSONObject} and read back as Jackson trees,
+ * the former path, with the typed {@link ScanLocation}.
+ * <p/>
+ * Compiled with the tests by the {@code benchmark} profile, run it manually with the {@link #main(String[])} method,
+ * with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanLocationBenchmark {
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({ "1000", "5000" })
+    protected int findings;
+
+    // top, left, width, height and byte range of each finding
+    protected int[][] boxes;
+
+    @Setup
+    public void setUp() {
+        boxes = new int[findings][];
+        for (int i = 0; i < findings; i++) {
+            boxes[i] = new int[] { i % 2000, i % 1500, 100 + i % 50, 20 + i % 10, i * 20, i * 20 + 11 };
+        }
+    }
+
+    @Benchmark
+    public long jsonObject() throws IOException {
+        List<String> stored = new ArrayList<>(findings);
+        for (int[] box : boxes) {
+            JSONObject locationJson = new JSONObject();
+            locationJson.put("hasByteRange", true);
+            locationJson.put("hasCodepointRange", false);
+            locationJson.put("pageWidth", 2000);
+            locationJson.put("pageHeight", 1500);
+            JSONObject oneLoc = new JSONObject();
+            oneLoc.put("top", box[0]);
+            oneLoc.put("left", box[1]);
+            oneLoc.put("width", box[2]);
+            oneLoc.put("height", box[3]);
+            JSONArray locations = new JSONArray();
+            locations.put(oneLoc);
+            locationJson.put("imageLocations", locations);
+            locationJson.put("firstImageLocation", oneLoc);
+            locationJson.put("hasImageLocation", true);
+            JSONObject byteRange = new JSONObject();
+            byteRange.put("start", box[4]);
+            byteRange.put("end", box[5]);
+            locationJson.put("byteRange", byteRange);
+            stored.add(locationJson.toString());
+        }
+        long sum = 0;
+        for (String json : stored) {
+            JsonNode node = MAPPER.readTree(json);
+            int pageHeight = node.get("pageHeight").asInt();
+            for (JsonNode location : node.get("imageLocations")) {
+                sum += pageHeight - location.get("top").asInt() - location.get("height").asInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanLocation() throws IOException {
+        List<String> stored = new ArrayList<>(findings);
+        for (int[] box : boxes) {
+            ScanLocation location = new ScanLocation().setPageSize(2000, 1500)
+                                                      .addBox(box[0], box[1], box[2], box[3])
+                                                      .setByteRange(box[4], box[5]);
+            stored.add(location.toJson());
+        }
+        long sum = 0;
+        for (String json : stored) {
+            ScanLocation location = ScanLocation.fromJson(json);
+            int[] locationBoxes = location.getBoxes();
+            for (int i = 0; i < locationBoxes.length; i += 4) {
+                sum += location.getPageHeight() - locationBoxes[i] - locationBoxes[i + 3];
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScanLocationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
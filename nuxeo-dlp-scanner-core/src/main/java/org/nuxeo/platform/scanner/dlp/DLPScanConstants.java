@@ -33,6 +33,14 @@ public interface DLPScanConstants {
 
     public String DLP_SENSITIVE_DATA_EVENT = "dlpSensitiveDataFound";
 
+    public String DLP_RETRY_SCAN_NEEDED_EVENT = "dlpRetryScanNeeded";
+
+    public String DLP_RETRY_FAILED_SCANS_EVENT = "dlpRetryFailedScans";
+
+    public String DLP_SWEEP_PENDING_SCANS_EVENT = "dlpSweepPendingScans";
+
+    public String DLP_RESCAN_OUTDATED_EVENT = "dlpRescanOutdated";
+
     public String DLP_FACET = "DataLossPrevention";
 
     public String DLP_STATUS_PROP = "dlp:scanStatus";
@@ -45,10 +53,162 @@ public interface DLPScanConstants {
 
     public String DLP_DATE_PROP = "dlp:scanDate";
 
+    public String DLP_PENDING_DATE_PROP = "dlp:pendingDate";
+
     public String DLP_SENSITIVE_DATA = "dlp:sensitiveData";
 
     public String DLP_FINDINGS = "dlp:findings";
 
+    public String DLP_BLOBS_PROP = "dlp:blobs";
+
+    public String DLP_FINGERPRINT_PROP = "dlp:fingerprint";
+
+    public String DLP_INFOTYPES_PROP = "dlp:infoTypes";
+
+    public String DLP_RETRY_COUNT_PROP = "dlp:retryCount";
+
+    public String DLP_NEXT_RETRY_PROP = "dlp:nextRetry";
+
     public String DISABLE_DLP_LISTENER = "disableDLPScanListener";
 
+    public String DLP_CACHE_ENABLED = "dlp.scan.cache.enabled";
+
+    public String DLP_CACHE_MAX_SIZE = "dlp.scan.cache.maxSize";
+
+    public String DLP_CACHE_TTL = "dlp.scan.cache.ttl";
+
+    public String DLP_CACHE_KV_ENABLED = "dlp.scan.cache.kv.enabled";
+
+    public String DLP_CACHE_KV_STORE = "dlp.scan.cache.kv.store";
+
+    public String DLP_CACHE_KV_TTL = "dlp.scan.cache.kv.ttl";
+
+    public String DLP_PREFILTER_ENABLED = "dlp.scan.prefilter.enabled";
+
+    public String DLP_PREFILTER_PROVIDER = "dlp.scan.prefilter.provider";
+
+    public String DLP_PREFILTER_INFOTYPES = "dlp.scan.prefilter.infotypes";
+
+    public String DLP_ADAPTIVE_ENABLED = "dlp.scan.adaptive.enabled";
+
+    public String DLP_ADAPTIVE_INITIAL = "dlp.scan.adaptive.initial";
+
+    public String DLP_ADAPTIVE_MIN = "dlp.scan.adaptive.min";
+
+    public String DLP_ADAPTIVE_MAX = "dlp.scan.adaptive.max";
+
+    public String DLP_ADAPTIVE_LATENCY = "dlp.scan.adaptive.latency";
+
+    public String DLP_ADAPTIVE_BACKOFF = "dlp.scan.adaptive.backoff";
+
+    public String DLP_ADAPTIVE_TIMEOUT = "dlp.scan.adaptive.timeout";
+
+    public String DLP_BREAKER_ENABLED = "dlp.scan.breaker.enabled";
+
+    public String DLP_BREAKER_FAILURES = "dlp.scan.breaker.failures";
+
+    public String DLP_BREAKER_DELAY = "dlp.scan.breaker.delay";
+
+    public String DLP_BREAKER_FALLBACK = "dlp.scan.breaker.fallback";
+
+    public String DLP_RETRY_ENABLED = "dlp.scan.retry.enabled";
+
+    public String DLP_RETRY_MAX_ATTEMPTS = "dlp.scan.retry.maxAttempts";
+
+    public String DLP_RETRY_DELAY = "dlp.scan.retry.delay";
+
+    public String DLP_RETRY_MAX_DELAY = "dlp.scan.retry.maxDelay";
+
+    public String DLP_RETRY_BATCH_SIZE = "dlp.scan.retry.batchSize";
+
+    public String DLP_SWEEPER_ENABLED = "dlp.scan.sweeper.enabled";
+
+    public String DLP_SWEEPER_THRESHOLD = "dlp.scan.sweeper.threshold";
+
+    public String DLP_SWEEPER_BATCH_SIZE = "dlp.scan.sweeper.batchSize";
+
+    public String DLP_SWEEPER_MAX_DOCUMENTS = "dlp.scan.sweeper.maxDocuments";
+
+    public String DLP_SWEEPER_RATE = "dlp.scan.sweeper.rate";
+
+    public String DLP_RESCAN_BATCH_SIZE = "dlp.scan.rescan.batchSize";
+
+    public String DLP_RESCAN_RATE = "dlp.scan.rescan.rate";
+
+    public String DLP_TEXT_FULLTEXT_ENABLED = "dlp.scan.text.fulltext.enabled";
+
+    public String DLP_CONVERSION_CACHE_ENABLED = "dlp.scan.conversion.cache.enabled";
+
+    public String DLP_CONVERSION_CACHE_MAX_SIZE = "dlp.scan.conversion.cache.maxSize";
+
+    public String DLP_MEMORY_BUDGET = "dlp.scan.memory.budget";
+
+    public String DLP_MEMORY_TIMEOUT = "dlp.scan.memory.timeout";
+
+    public String DEFAULT_CACHE_MAX_SIZE = "10000";
+
+    public String DEFAULT_CACHE_KV_STORE = "dlpScanCache";
+
+    // seconds
+    public String DEFAULT_CACHE_TTL = "86400";
+
+    public String DEFAULT_ADAPTIVE_INITIAL = "8";
+
+    public String DEFAULT_ADAPTIVE_MIN = "1";
+
+    public String DEFAULT_ADAPTIVE_MAX = "64";
+
+    // milliseconds
+    public String DEFAULT_ADAPTIVE_LATENCY = "10000";
+
+    public String DEFAULT_ADAPTIVE_BACKOFF = "0.5";
+
+    // seconds
+    public String DEFAULT_ADAPTIVE_TIMEOUT = "60";
+
+    public String DEFAULT_BREAKER_FAILURES = "5";
+
+    // seconds
+    public String DEFAULT_BREAKER_DELAY = "30";
+
+    public String DEFAULT_RETRY_MAX_ATTEMPTS = "5";
+
+    // seconds
+    public String DEFAULT_RETRY_DELAY = "300";
+
+    // seconds
+    public String DEFAULT_RETRY_MAX_DELAY = "21600";
+
+    public String DEFAULT_RETRY_BATCH_SIZE = "100";
+
+    // seconds
+    public String DEFAULT_SWEEPER_THRESHOLD = "3600";
+
+    public String DEFAULT_SWEEPER_BATCH_SIZE = "50";
+
+    public String DEFAULT_SWEEPER_MAX_DOCUMENTS = "1000";
+
+    // documents per second
+    public String DEFAULT_SWEEPER_RATE = "10";
+
+    public String DEFAULT_RESCAN_BATCH_SIZE = "50";
+
+    // documents per second
+    public String DEFAULT_RESCAN_RATE = "10";
+
+    // bytes
+    public String DEFAULT_CONVERSION_CACHE_MAX_SIZE = "1073741824";
+
+    // bytes, 0 for unlimited
+    public String DEFAULT_MEMORY_BUDGET = "536870912";
+
+    // seconds
+    public String DEFAULT_MEMORY_TIMEOUT = "60";
+
+    public String DEFAULT_PREFILTER_PROVIDER = "local";
+
+    public String DEFAULT_PREFILTER_INFOTYPES = "CREDIT_CARD_NUMBER,IBAN_CODE,SWIFT_CODE,US_SOCIAL_SECURITY_NUMBER,"
+            + "US_PASSPORT,US_INDIVIDUAL_TAXPAYER_IDENTIFICATION_NUMBER,US_EMPLOYER_IDENTIFICATION_NUMBER,"
+            + "US_BANK_ROUTING_MICR";
+
 }
@@ -21,6 +21,7 @@ package org.nuxeo.platform.scanner.dlp;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
@@ -47,6 +48,17 @@ public interface DataLossPreventionScanner extends DLPScanConstants {
      */
     ScanResult identify(Blob blob, List<String> features, Integer maxResults) throws IOException;
 
+    /**
+     * @param blob the data blob
+     * @param infoTypes the info types to request from the service (optional)
+     * @param maxResults the maximum number of results per feature
+     * @param convertToText true to convert the blob to text, null for the configured value of the provider
+     * @return a {@link ScanResult} object
+     * @since 2025.2
+     */
+    ScanResult identify(Blob blob, List<String> features, Integer maxResults, Boolean convertToText)
+            throws IOException;
+
     /**
      * @param provider the provider to use
      * @param blob the data blob
@@ -74,6 +86,33 @@ public interface DataLossPreventionScanner extends DLPScanConstants {
      */
     List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults) throws IOException;
 
+    /**
+     * @param blob the data blob
+     * @return a future {@link ScanResult} object
+     * @since 2025.2
+     */
+    CompletableFuture<ScanResult> identifyAsync(Blob blob);
+
+    /**
+     * @param blob the data blob
+     * @param infoTypes the info types to request from the service (optional)
+     * @param maxResults the maximum number of results per feature
+     * @return a future {@link ScanResult} object
+     * @since 2025.2
+     */
+    CompletableFuture<ScanResult> identifyAsync(Blob blob, List<String> features, Integer maxResults);
+
+    /**
+     * @param provider the provider to use
+     * @param blob the data blob
+     * @param infoTypes the info types to request from the service (optional)
+     * @param maxResults the maximum number of results per feature
+     * @return a future {@link ScanResult} object, failed instead of throwing on invalid arguments
+     * @since 2025.2
+     */
+    CompletableFuture<ScanResult> identifyAsync(String provider, Blob blob, List<String> features,
+            Integer maxResults);
+
     /**
      * @param blob the data blob
      * @return a {@link Blob} object
@@ -114,6 +153,48 @@ public interface DataLossPreventionScanner extends DLPScanConstants {
      */
     List<Blob> redact(List<Blob> blobs, List<String> features);
 
+    /**
+     * @param blob the data blob
+     * @return a future {@link Blob} object
+     * @since 2025.2
+     */
+    CompletableFuture<Blob> redactAsync(Blob blob);
+
+    /**
+     * @param blob the data blob
+     * @param infoTypes the info types to request from the service (optional)
+     * @return a future {@link Blob} object
+     * @since 2025.2
+     */
+    CompletableFuture<Blob> redactAsync(Blob blob, List<String> features);
+
+    /**
+     * @param provider the provider to use
+     * @param blob the data blob
+     * @param infoTypes the info types to request from the service (optional)
+     * @return a future {@link Blob} object, failed instead of throwing on invalid arguments or an exhausted memory
+     *         budget
+     * @since 2025.2
+     */
+    CompletableFuture<Blob> redactAsync(String provider, Blob blob, List<String> features);
+
+    /**
+     * Fingerprint of the configuration the documents are scanned with: the default provider and its default inspect
+     * settings. Blobs scanned with the same fingerprint give the same result.
+     *
+     * @return the fingerprint, or null if the default provider has none
+     * @since 2025.2
+     */
+    String getConfigFingerprint();
+
+    /**
+     * @param features the info types to scan for, the default ones of the provider if null
+     * @return the fingerprint of the configuration the documents are scanned with, using the given info types, or null
+     *         if the default provider has none
+     * @since 2025.2
+     */
+    String getConfigFingerprint(List<String> features);
+
     /**
      * @return The name of default provider
      */
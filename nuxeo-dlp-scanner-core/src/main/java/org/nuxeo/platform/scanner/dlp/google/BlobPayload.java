@@ -0,0 +1,69 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+import org.nuxeo.ecm.core.api.Blob;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Payload of the requests sent for a blob, read without the copies of {@link ByteString#readFrom(InputStream)}.
+ * <p/>
+ * Large blobs backed by a local file are memory mapped: their content stays out of the heap until gRPC serializes the
+ * request. Other blobs of known length are read once in an array of the right size. Both are wrapped without copy,
+ * which is safe as blobs are immutable and the buffers are never written.
+ *
+ * @since 2025.2
+ */
+public class BlobPayload {
+
+    private BlobPayload() {
+        // utility class
+    }
+
+    /**
+     * @param mapThreshold the size from which a file backed blob is memory mapped, negative to never map
+     * @return the content of the blob
+     */
+    public static ByteString read(Blob blob, long mapThreshold) throws IOException {
+        long length = blob.getLength();
+        File file = mapThreshold >= 0 && length >= mapThreshold ? blob.getFile() : null;
+        if (file != null && file.length() == length && length <= Integer.MAX_VALUE) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // the mapping stays valid once the channel is closed
+                return UnsafeByteOperations.unsafeWrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+            }
+        }
+        try (InputStream stream = blob.getStream()) {
+            if (length >= 0 && length < Integer.MAX_VALUE) {
+                return UnsafeByteOperations.unsafeWrap(IOUtils.toByteArray(stream, length));
+            }
+            return ByteString.readFrom(stream);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.cloud.dlp.v2.DlpServiceClient;
+import com.google.cloud.dlp.v2.DlpServiceSettings;
+
+/**
+ * Long-lived {@link DlpServiceClient} shared by all the threads calling the Google DLP API.
+ * <p/>
+ * The client is backed by a fixed pool of gRPC channels, so the TLS handshake and the credentials refresh are paid once
+ * per channel instead of once per request. The client is created on first use and must be closed when the provider is
+ * released.
+ *
+ * @since 2025.2
+ */
+public class DlpClientPool implements AutoCloseable {
+
+    protected static final Logger log = LogManager.getLogger(DlpClientPool.class);
+
+    protected static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    protected final DlpServiceSettings settings;
+
+    protected final int channelCount;
+
+    protected volatile DlpServiceClient client;
+
+    protected volatile boolean closed;
+
+    public DlpClientPool(int channelCount) throws IOException {
+        this.channelCount = Math.max(1, channelCount);
+        InstantiatingGrpcChannelProvider channelProvider = DlpServiceSettings.defaultGrpcTransportProviderBuilder()
+                                                                             .setChannelPoolSettings(
+                                                                                     ChannelPoolSettings.staticallySized(
+                                                                                             this.channelCount))
+                                                                             .build();
+        settings = DlpServiceSettings.newBuilder().setTransportChannelProvider(channelProvider).build();
+    }
+
+    /**
+     * @return the shared client, created on first call
+     */
+    public DlpServiceClient getClient() throws IOException {
+        DlpServiceClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Google DLP client pool is closed");
+                }
+                result = client;
+                if (result == null) {
+                    log.debug("Opening Google DLP client with {} channel(s)", channelCount);
+                    client = result = DlpServiceClient.create(settings);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (client == null) {
+            return;
+        }
+        try {
+            client.shutdown();
+            if (!client.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                client.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            client.shutdownNow();
+        } finally {
+            client.close();
+            client = null;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Token buckets in front of the calls to the DLP API, limiting the request rate and the content throughput so that
+ * bursts are smoothed instead of failing with RESOURCE_EXHAUSTED.
+ *
+ * @since 2025.2
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class DlpRateLimiter {
+
+    protected final RateLimiter requests;
+
+    protected final RateLimiter bytes;
+
+    protected final long maxWaitMillis;
+
+    /**
+     * @param requestsPerSecond the request rate, 0 for unlimited
+     * @param bytesPerMinute the content throughput, 0 for unlimited
+     * @param maxWaitMillis the maximum time to wait for the permits of a call
+     */
+    public DlpRateLimiter(double requestsPerSecond, long bytesPerMinute, long maxWaitMillis) {
+        requests = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+        bytes = bytesPerMinute > 0 ? RateLimiter.create(bytesPerMinute / 60.0) : null;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Wait for the permits of a call.
+     *
+     * @param requestCount the number of requests of the call
+     * @param byteCount the size of the content sent by the call
+     * @return false if the permits could not be obtained within the maximum wait
+     */
+    public boolean acquire(int requestCount, long byteCount) {
+        long start = System.nanoTime();
+        if (requests != null && requestCount > 0
+                && !requests.tryAcquire(requestCount, maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        long remaining = maxWaitMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return bytes == null || byteCount <= 0
+                || bytes.tryAcquire((int) Math.min(byteCount, Integer.MAX_VALUE), Math.max(0, remaining),
+                        TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return requests != null || bytes != null;
+    }
+
+}
@@ -49,10 +49,88 @@ public interface GoogleDLPConstants {
 
     String CUSTOM = DLP_NAME + ".custom";
 
+    String CHANNEL_COUNT = DLP_NAME + ".channels";
+
+    String BATCH_CONCURRENCY = DLP_NAME + ".batch.concurrency";
+
+    String BATCH_TIMEOUT = DLP_NAME + ".batch.timeout";
+
+    String BATCH_MAX_BLOBS = DLP_NAME + ".batch.maxBlobs";
+
+    String REQUEST_MAX_SIZE = DLP_NAME + ".request.maxSize";
+
+    String MAX_BLOB_SIZE = DLP_NAME + ".maxBlobSize";
+
+    String RATELIMIT_REQUESTS = DLP_NAME + ".ratelimit.requests";
+
+    String RATELIMIT_BYTES = DLP_NAME + ".ratelimit.bytes";
+
+    String RATELIMIT_TIMEOUT = DLP_NAME + ".ratelimit.timeout";
+
+    String CHUNK_ENABLED = DLP_NAME + ".chunk.enabled";
+
+    String CHUNK_SIZE = DLP_NAME + ".chunk.size";
+
+    String CHUNK_OVERLAP = DLP_NAME + ".chunk.overlap";
+
+    String PACK_ENABLED = DLP_NAME + ".pack.enabled";
+
+    String PACK_SIZE = DLP_NAME + ".pack.size";
+
+    String PACK_MAX_BLOB_SIZE = DLP_NAME + ".pack.maxBlobSize";
+
+    String TABLE_ENABLED = DLP_NAME + ".table.enabled";
+
+    String TABLE_ROWS = DLP_NAME + ".table.rows";
+
+    String PAYLOAD_MAP_THRESHOLD = DLP_NAME + ".payload.mapThreshold";
+
     String DEFAULT_LIKELYHOOD = Likelihood.POSSIBLE.toString();
 
     String DEFAULT_MAX_FINDINGS = "5";
 
+    String DEFAULT_CHANNEL_COUNT = "4";
+
+    String DEFAULT_BATCH_CONCURRENCY = "4";
+
+    // seconds
+    String DEFAULT_BATCH_TIMEOUT = "120";
+
+    String DEFAULT_BATCH_MAX_BLOBS = "100";
+
+    // bytes, content limit of an inspect request
+    String DEFAULT_REQUEST_MAX_SIZE = "524288";
+
+    // bytes, larger blobs are not read at all
+    String DEFAULT_MAX_BLOB_SIZE = "104857600";
+
+    // per second, default project quota of 600 requests per minute
+    String DEFAULT_RATELIMIT_REQUESTS = "10";
+
+    // per minute, 0 for unlimited
+    String DEFAULT_RATELIMIT_BYTES = "0";
+
+    // seconds
+    String DEFAULT_RATELIMIT_TIMEOUT = "30";
+
+    // bytes, leaves room for the request envelope under the 0.5 MB content limit
+    String DEFAULT_CHUNK_SIZE = "400000";
+
+    // bytes
+    String DEFAULT_CHUNK_OVERLAP = "256";
+
+    // bytes, size of the text packed in a single request
+    String DEFAULT_PACK_SIZE = "65536";
+
+    // bytes, larger blobs are inspected by their own request
+    String DEFAULT_PACK_MAX_BLOB_SIZE = "8192";
+
+    // rows of a table inspected by a single request, also bounded by the chunk size
+    String DEFAULT_TABLE_ROWS = "1000";
+
+    // bytes, file backed blobs from this size are memory mapped
+    String DEFAULT_PAYLOAD_MAP_THRESHOLD = "1048576";
+
     String DEFAULT_INFOTYPES = "CREDIT_CARD_NUMBER,IBAN_CODE,SWIFT_CODE,US_SOCIAL_SECURITY_NUMBER,US_PASSPORT,US_INDIVIDUAL_TAXPAYER_IDENTIFICATION_NUMBER,US_EMPLOYER_IDENTIFICATION_NUMBER"
             + ",US_BANK_ROUTING_MICR";
 
@@ -19,20 +19,32 @@
 package org.nuxeo.platform.scanner.dlp.google;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import jakarta.activation.MimetypesFileTypeMap;
 
 import com.google.privacy.dlp.v2.*;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import com.google.cloud.ServiceOptions;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,20 +52,23 @@ import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.Blobs;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.NuxeoException;
-import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
-import org.nuxeo.ecm.core.api.blobholder.SimpleBlobHolder;
 import org.nuxeo.ecm.core.convert.api.ConversionException;
-import org.nuxeo.ecm.core.convert.api.ConversionService;
-import org.nuxeo.ecm.platform.picture.api.ImageInfo;
 import org.nuxeo.ecm.platform.picture.api.ImagingService;
 import org.nuxeo.platform.scanner.dlp.service.RedactionProvider;
 import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanLocation;
 import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
 import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.platform.scanner.dlp.service.TextSource;
 import org.nuxeo.runtime.api.Framework;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiException;
 import com.google.cloud.dlp.v2.DlpServiceClient;
-import com.google.cloud.dlp.v2.DlpServiceSettings;
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.privacy.dlp.v2.InspectConfig.FindingLimits;
 import com.google.protobuf.ByteString;
 
@@ -64,6 +79,9 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
 
     protected static final Logger log = LogManager.getLogger(GoogleDLPScanProvider.class);
 
+    // cap of the findings returned by an inspect request
+    protected static final int MAX_FINDINGS_PER_REQUEST = 2000;
+
     Likelihood likelihood = Likelihood.LIKELY;
 
     Likelihood sensitivity = Likelihood.LIKELY;
@@ -80,7 +98,43 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
 
     private String projectId = null;
 
-    private DlpServiceSettings dlpServiceSettings = null;
+    private int channelCount = Integer.parseInt(DEFAULT_CHANNEL_COUNT);
+
+    private DlpClientPool clientPool = null;
+
+    private int batchConcurrency = Integer.parseInt(DEFAULT_BATCH_CONCURRENCY);
+
+    private int batchTimeout = Integer.parseInt(DEFAULT_BATCH_TIMEOUT);
+
+    private ExecutorService batchExecutor = null;
+
+    private Semaphore inFlight = null;
+
+    private int batchMaxBlobs = Integer.parseInt(DEFAULT_BATCH_MAX_BLOBS);
+
+    private int requestMaxSize = Integer.parseInt(DEFAULT_REQUEST_MAX_SIZE);
+
+    private long maxBlobSize = Long.parseLong(DEFAULT_MAX_BLOB_SIZE);
+
+    private DlpRateLimiter rateLimiter = null;
+
+    private boolean chunkEnabled = true;
+
+    private int chunkSize = Integer.parseInt(DEFAULT_CHUNK_SIZE);
+
+    private int chunkOverlap = Integer.parseInt(DEFAULT_CHUNK_OVERLAP);
+
+    private boolean packEnabled = false;
+
+    private int packSize = Integer.parseInt(DEFAULT_PACK_SIZE);
+
+    private int packMaxBlobSize = Integer.parseInt(DEFAULT_PACK_MAX_BLOB_SIZE);
+
+    private boolean tableEnabled = true;
+
+    private int tableRows = Integer.parseInt(DEFAULT_TABLE_ROWS);
+
+    private long payloadMapThreshold = Long.parseLong(DEFAULT_PAYLOAD_MAP_THRESHOLD);
 
     private List<InfoType> infoTypesList = null;
 
@@ -94,16 +148,6 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
     }
 
     private void init() {
-        try {
-            // Load credentials
-            dlpServiceSettings = DlpServiceSettings.newBuilder().build();
-        } catch (IOException iox) {
-            log.error("Error loading Google Authentication Credentials", iox);
-            log.error("Data Loss Prevention scanning will be unavailable");
-            enabled = false;
-            return;
-        }
-
         // Load Project ID
         projectId = Framework.getProperty(API_PROJECT, ServiceOptions.getDefaultProjectId());
 
@@ -155,6 +199,142 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
 
         // Load custom info types
         customInfoTypesList = Collections.emptyList();
+
+        // Load client settings
+        channelCount = getIntProperty(CHANNEL_COUNT, DEFAULT_CHANNEL_COUNT, channelCount);
+        batchConcurrency = getIntProperty(BATCH_CONCURRENCY, DEFAULT_BATCH_CONCURRENCY, batchConcurrency);
+        batchTimeout = getIntProperty(BATCH_TIMEOUT, DEFAULT_BATCH_TIMEOUT, batchTimeout);
+        inFlight = new Semaphore(batchConcurrency);
+
+        // Load limits
+        batchMaxBlobs = getIntProperty(BATCH_MAX_BLOBS, DEFAULT_BATCH_MAX_BLOBS, batchMaxBlobs);
+        requestMaxSize = getIntProperty(REQUEST_MAX_SIZE, DEFAULT_REQUEST_MAX_SIZE, requestMaxSize);
+        String maxBlobSizeStr = Framework.getProperty(MAX_BLOB_SIZE, DEFAULT_MAX_BLOB_SIZE);
+        try {
+            maxBlobSize = Long.parseLong(maxBlobSizeStr.trim());
+        } catch (NumberFormatException nfe) {
+            log.error(MAX_BLOB_SIZE + " is not a number");
+        }
+
+        // Load rate limits
+        try {
+            rateLimiter = new DlpRateLimiter(
+                    Double.parseDouble(Framework.getProperty(RATELIMIT_REQUESTS, DEFAULT_RATELIMIT_REQUESTS).trim()),
+                    Long.parseLong(Framework.getProperty(RATELIMIT_BYTES, DEFAULT_RATELIMIT_BYTES).trim()),
+                    TimeUnit.SECONDS.toMillis(
+                            getIntProperty(RATELIMIT_TIMEOUT, DEFAULT_RATELIMIT_TIMEOUT, 0)));
+        } catch (NumberFormatException nfe) {
+            log.error(RATELIMIT_REQUESTS + " and " + RATELIMIT_BYTES + " must be numbers, rate limit disabled");
+            rateLimiter = new DlpRateLimiter(0, 0, 0);
+        }
+
+        // Load chunking settings
+        chunkEnabled = Boolean.parseBoolean(Framework.getProperty(CHUNK_ENABLED, "true"));
+        chunkSize = getIntProperty(CHUNK_SIZE, DEFAULT_CHUNK_SIZE, chunkSize);
+        chunkOverlap = getIntProperty(CHUNK_OVERLAP, DEFAULT_CHUNK_OVERLAP, chunkOverlap);
+        if (chunkOverlap >= chunkSize) {
+            log.error(CHUNK_OVERLAP + " must be lower than " + CHUNK_SIZE);
+            chunkOverlap = 0;
+        }
+
+        // Load packing settings
+        packEnabled = Boolean.parseBoolean(Framework.getProperty(PACK_ENABLED, "false"));
+        packSize = Math.min(getIntProperty(PACK_SIZE, DEFAULT_PACK_SIZE, packSize), requestMaxSize);
+        packMaxBlobSize = getIntProperty(PACK_MAX_BLOB_SIZE, DEFAULT_PACK_MAX_BLOB_SIZE, packMaxBlobSize);
+
+        // Load table settings
+        tableEnabled = Boolean.parseBoolean(Framework.getProperty(TABLE_ENABLED, "true"));
+        tableRows = getIntProperty(TABLE_ROWS, DEFAULT_TABLE_ROWS, tableRows);
+
+        // Load payload settings
+        try {
+            payloadMapThreshold = Long.parseLong(
+                    Framework.getProperty(PAYLOAD_MAP_THRESHOLD, DEFAULT_PAYLOAD_MAP_THRESHOLD).trim());
+        } catch (NumberFormatException nfe) {
+            log.error(PAYLOAD_MAP_THRESHOLD + " is not a number");
+        }
+    }
+
+    protected static int getIntProperty(String name, String defaultValue, int fallback) {
+        String value = Framework.getProperty(name, defaultValue);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException nfe) {
+                log.error(name + " is not a number");
+            }
+        }
+        return fallback;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || clientPool != null) {
+            return;
+        }
+        try {
+            // Load credentials
+            clientPool = new DlpClientPool(channelCount);
+            AtomicInteger threadCount = new AtomicInteger();
+            batchExecutor = Executors.newFixedThreadPool(batchConcurrency, r -> {
+                Thread thread = new Thread(r, "dlp-google-inspect-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } catch (IOException iox) {
+            log.error("Error loading Google Authentication Credentials", iox);
+            log.error("Data Loss Prevention scanning will be unavailable");
+            enabled = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+            batchExecutor = null;
+        }
+        if (clientPool != null) {
+            clientPool.close();
+            clientPool = null;
+        }
+    }
+
+    /**
+     * @return the client shared by all the calls made by this provider
+     * @since 2025.2
+     */
+    public DlpServiceClient getClient() throws IOException {
+        DlpClientPool pool = clientPool;
+        if (pool == null) {
+            throw new IOException("Google Data Loss Prevention provider is not started");
+        }
+        return pool.getClient();
+    }
+
+    @Override
+    public int getMaxFindings() {
+        return maxFindings > 0 ? maxFindings : MAX_FINDINGS_PER_REQUEST;
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features, Integer maxResults) {
+        return getConfigFingerprint(features, maxResults, null);
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features, Integer maxResults, Boolean convertToText) {
+        List<String> types = features;
+        if (types == null || types.isEmpty()) {
+            types = infoTypesList.stream().map(InfoType::getName).collect(Collectors.toList());
+        }
+        String config = types.stream().sorted().distinct().collect(Collectors.joining(",")) //
+                + ";" + likelihood //
+                + ";" + sensitivity //
+                + ";" + (maxResults != null ? maxResults : maxFindings) //
+                + ";" + includeQuote //
+                + ";" + (convertToText != null ? convertToText : this.convertToText);
+        return DigestUtils.sha256Hex(config);
     }
 
     @Override
@@ -168,223 +348,769 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
      */
     @Override
     public boolean isEnabled() {
-        return enabled && dlpServiceSettings != null;
+        return enabled && clientPool != null;
     }
 
     @Override
     public boolean checkBlobs(List<Blob> blobs) {
-        // TODO Auto-generated method stub
-        return true;
+        if (blobs.size() > batchMaxBlobs) {
+            return false;
+        }
+        return blobs.stream().allMatch(this::checkBlob);
+    }
+
+    /**
+     * A blob larger than the request limit is supported only if its text can be chunked, if it is a table that can be
+     * streamed, or if it is an image that can be sampled.
+     */
+    protected boolean checkBlob(Blob blob) {
+        if (blob == null) {
+            return true;
+        }
+        long length = blob.getLength();
+        if (maxBlobSize > 0 && length > maxBlobSize) {
+            return false;
+        }
+        if (length <= requestMaxSize) {
+            return true;
+        }
+        String mimeType = blob.getMimeType();
+        if (mimeType != null && mimeType.startsWith("image")) {
+            // sampled down to a single request, which is only possible once its dimensions are known
+            return ImageDimensions.of(blob) != null;
+        }
+        if (tableEnabled && TableChunker.isTabular(mimeType)) {
+            return true;
+        }
+        if (mimeType != null && mimeType.startsWith("text")) {
+            return chunkEnabled;
+        }
+        return chunkEnabled && convertToText;
+    }
+
+    /**
+     * The redacted images are neither sampled nor chunked, each one must fit in a single request.
+     */
+    @Override
+    public boolean checkRedactionBlobs(List<Blob> blobs) {
+        if (blobs.size() > batchMaxBlobs) {
+            return false;
+        }
+        return blobs.stream().allMatch(this::checkRedactionBlob);
+    }
+
+    protected boolean checkRedactionBlob(Blob blob) {
+        if (blob == null) {
+            return true;
+        }
+        String mimeType = blob.getMimeType();
+        return blob.getLength() <= requestMaxSize && (mimeType == null || mimeType.startsWith("image"));
+    }
+
+    @Override
+    public List<String> getDefaultFeatures() {
+        return infoTypesList.stream().map(InfoType::getName).collect(Collectors.toList());
+    }
+
+    @Override
+    public int getMaxBlobsPerRequest() {
+        return batchMaxBlobs;
     }
 
     @Override
     public List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults) throws IOException {
-        return blobs.stream().map(b -> inspect(b, features, maxResults)).collect(Collectors.toList());
+        return identify(blobs, features, maxResults, consumeConvertToText());
+    }
+
+    @Override
+    public List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults,
+            Boolean convertToText) throws IOException {
+        boolean doConvertToText = convertToText != null ? convertToText : this.convertToText;
+        List<CompletableFuture<ScanResult>> futures = new ArrayList<>(blobs.size());
+        List<Integer> packable = new ArrayList<>();
+        for (Blob blob : blobs) {
+            if (packEnabled && isPackable(blob, doConvertToText)) {
+                packable.add(futures.size());
+                futures.add(new CompletableFuture<>());
+            } else {
+                futures.add(inspectAsync(blob, features, maxResults, doConvertToText));
+            }
+        }
+        if (packable.size() == 1) {
+            int i = packable.get(0);
+            inspectAsync(blobs.get(i), features, maxResults, doConvertToText).thenAccept(futures.get(i)::complete);
+        } else if (!packable.isEmpty()) {
+            List<Blob> packableBlobs = packable.stream().map(blobs::get).collect(Collectors.toList());
+            List<CompletableFuture<ScanResult>> packableResults = packable.stream()
+                                                                          .map(futures::get)
+                                                                          .collect(Collectors.toList());
+            inspectPackedAsync(packableBlobs, packableResults, features, maxResults, doConvertToText);
+        }
+        awaitBatch(futures);
+        return futures.stream().map(f -> f.getNow(ScanResult.makeFailed())).collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletableFuture<ScanResult> identifyAsync(Blob blob, List<String> features, Integer maxResults) {
+        return inspectAsync(blob, features, maxResults, convertToText).completeOnTimeout(
+                ScanResult.makeFailed(ScanResult.DEADLINE_EXCEEDED), batchTimeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Wait for the whole batch up to the batch deadline. The blobs still pending once the deadline is reached are
+     * reported as failed and their calls are cancelled, so that one slow blob cannot stall the others.
+     */
+    protected void awaitBatch(List<CompletableFuture<ScanResult>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(batchTimeout, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            long pending = futures.stream().filter(f -> !f.isDone()).count();
+            log.warn("{} blob(s) not scanned within the {}s batch deadline", pending, batchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // failures are reported as failed results by each blob inspection
+        }
+        // no-op for the completed ones
+        futures.forEach(f -> f.complete(ScanResult.makeFailed(ScanResult.DEADLINE_EXCEEDED)));
     }
 
-    protected ScanResult inspect(Blob blob, List<String> features, Integer maxResults) {
+    /**
+     * Inspect a blob on the batch executor, the call to the API itself is asynchronous. The returned future always
+     * completes normally, with a failed {@link ScanResult} on error. Completing the future from the outside cancels
+     * the pending API call.
+     *
+     * @since 2025.2
+     */
+    protected CompletableFuture<ScanResult> inspectAsync(Blob blob, List<String> features, Integer maxResults,
+            boolean doConvertToText) {
         if (!isEnabled()) {
-            return ScanResult.makeFailed();
+            return CompletableFuture.completedFuture(ScanResult.makeFailed());
+        }
+        if (blob == null || blob.getLength() == 0) {
+            return CompletableFuture.completedFuture(new ScanResult(Collections.emptyList()));
+        }
+
+        CompletableFuture<ScanResult> result = new CompletableFuture<>();
+        try {
+            batchExecutor.execute(() -> inspectBlob(result, blob, features, maxResults, doConvertToText));
+        } catch (RejectedExecutionException e) {
+            log.error("Google Data Loss Prevention provider is stopped", e);
+            result.complete(ScanResult.makeFailed());
+        }
+        return result;
+    }
+
+    /**
+     * Inspect a blob, holding one of the in-flight permits from the payload preparation until the API answers.
+     */
+    protected void inspectBlob(CompletableFuture<ScanResult> result, Blob blob, List<String> features,
+            Integer maxResults, boolean doConvertToText) {
+        if (result.isDone()) {
+            // batch deadline already reached
+            return;
+        }
+        if (tableEnabled && TableChunker.isTabular(blob.getMimeType())) {
+            inspectTable(result, blob, features, maxResults);
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.complete(ScanResult.makeFailed());
+            return;
         }
 
-        if (blob != null && (blob.getLength() == -1 || blob.getLength() > 0)) {
-            return inspectBlob(blob, features, maxResults);
+        CompletableFuture<List<Finding>> call;
+        InspectContext context;
+        try {
+            context = prepareInspect(blob, features, maxResults, doConvertToText);
+            if (context == null || result.isDone()) {
+                inFlight.release();
+                result.complete(new ScanResult(Collections.emptyList()));
+                return;
+            }
+            if (!rateLimiter.acquire(context.requests.size(), context.getSize())) {
+                inFlight.release();
+                log.warn("Rate limit wait exceeded, {} not scanned", blob.getFilename());
+                result.complete(ScanResult.makeFailed(ScanResult.RESOURCE_EXHAUSTED));
+                return;
+            }
+            call = inspectRequests(getClient(), context, result);
+        } catch (ConversionException cex) {
+            inFlight.release();
+            log.warn("Unable to scan for DLP: " + cex.getMessage());
+            result.complete(ScanResult.makeFailed());
+            return;
+        } catch (Exception e) {
+            inFlight.release();
+            log.error("Error calling Google Data Loss Prevention Service", e);
+            result.complete(ScanResult.makeFailed());
+            return;
         }
 
-        return new ScanResult(Collections.emptyList());
+        call.whenComplete((findings, t) -> {
+            inFlight.release();
+            if (t != null) {
+                if (!result.isDone()) {
+                    log.error("Error calling Google Data Loss Prevention Service", t);
+                }
+                result.complete(ScanResult.makeFailed(getErrorCode(t)));
+                return;
+            }
+            try {
+                result.complete(toScanResult(findings, context));
+            } catch (RuntimeException e) {
+                log.error("Error reading Google Data Loss Prevention response", e);
+                result.complete(ScanResult.makeFailed());
+            }
+        });
     }
 
     /**
-     * Inspect a local file
-     *
-     * @param filePath The path to a local file to inspect. Can be a text, JPG, or PNG file.
-     * @param minLikelihood The minimum likelihood required before returning a match
-     * @param maxFindings The maximum number of findings to report (0 = server maximum)
-     * @param infoTypes The infoTypes of information to match
-     * @param includeQuote Whether to include the matching string
-     * @param projectId Google Cloud project ID
+     * @return the gRPC status code of a failed call, null if unknown
+     * @since 2025.2
      */
-    protected ScanResult inspectBlob(Blob blob, List<String> features, Integer maxResults) {
+    protected static String getErrorCode(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof ApiException) {
+            return ((ApiException) t).getStatusCode().getCode().name();
+        }
+        return null;
+    }
 
-        // Instantiates a client
-        List<ScanFinding> findings = new LinkedList<>();
-        try (DlpServiceClient dlpServiceClient = DlpServiceClient.create(dlpServiceSettings)) {
-            // detect file mime type, default to application/octet-stream
-            String mimeType = blob.getMimeType();
-            if (mimeType == null) {
-                mimeType = MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(blob.getFile());
+    /**
+     * Send the requests of a blob and merge their findings. The first lane of requests runs on the in-flight permit
+     * of the blob, the other lanes only on the permits left free by the other blobs, so that the requests in flight
+     * never exceed {@code batchConcurrency}. The calls still pending are cancelled once the result is completed from
+     * the outside (batch deadline).
+     *
+     * @since 2025.2
+     */
+    protected CompletableFuture<List<Finding>> inspectRequests(DlpServiceClient client, InspectContext context,
+            CompletableFuture<ScanResult> result) {
+        int count = context.requests.size();
+        List<List<Finding>> findings = new ArrayList<>(Collections.nCopies(count, Collections.emptyList()));
+        AtomicInteger next = new AtomicInteger();
+        int extra = 0;
+        while (extra < count - 1 && inFlight.tryAcquire()) {
+            extra++;
+        }
+        CompletableFuture<?>[] lanes = new CompletableFuture[1 + extra];
+        for (int i = 0; i < lanes.length; i++) {
+            try {
+                lanes[i] = inspectNextRequest(client, context, findings, next, result);
+            } catch (RuntimeException e) {
+                // the extra permits of the lanes not started
+                inFlight.release(i == 0 ? extra : extra - i + 1);
+                throw e;
             }
-            
-            boolean doConvertToText = convertToText;
-            if(nextIdentifyConvertToText != null) {
-                doConvertToText = nextIdentifyConvertToText.booleanValue();
-                nextIdentifyConvertToText = null;
+            if (i > 0) {
+                lanes[i] = lanes[i].whenComplete((v, t) -> inFlight.release());
             }
+        }
+        return CompletableFuture.allOf(lanes).thenApply(v -> {
+            if (context.chunks == null) {
+                return findings.get(0);
+            }
+            return TextChunker.merge(context.chunks, findings, context.maxFindings);
+        });
+    }
+
+    protected CompletableFuture<Void> inspectNextRequest(DlpServiceClient client, InspectContext context,
+            List<List<Finding>> findings, AtomicInteger next, CompletableFuture<ScanResult> result) {
+        int index = next.getAndIncrement();
+        if (index >= context.requests.size() || result.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<InspectContentResponse> call = toCompletableFuture(
+                client.inspectContentCallable().futureCall(context.requests.get(index)));
+        result.whenComplete((r, t) -> call.cancel(true));
+        return call.thenCompose(response -> {
+            findings.set(index, response.getResult().getFindingsList());
+            return inspectNextRequest(client, context, findings, next, result);
+        });
+    }
 
-            if (doConvertToText
-                    && (mimeType == null || (!mimeType.startsWith("text") && !mimeType.startsWith("image")))) {
+    /**
+     * Inspect a CSV, TSV or XLSX blob as tables of at most {@code tableRows} rows, streamed from the blob. Each chunk
+     * holds one of the in-flight permits until the API answers, which bounds the rows held in memory. The findings of
+     * the chunks are rebased on the rows of the file and merged.
+     *
+     * @since 2025.2
+     */
+    protected void inspectTable(CompletableFuture<ScanResult> result, Blob blob, List<String> features,
+            Integer maxResults) {
+        int limit = maxResults != null ? maxResults : maxFindings;
+        InspectConfig inspectConfig = newInspectConfig(features, limit);
+        List<CompletableFuture<List<Finding>>> calls = new ArrayList<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+        try {
+            DlpServiceClient client = getClient();
+            TableChunker.read(blob, tableRows, chunkSize, chunk -> {
+                if (result.isDone()) {
+                    // batch deadline already reached
+                    return false;
+                }
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                InspectContentRequest request = newInspectRequest(inspectConfig,
+                        ContentItem.newBuilder().setTable(chunk.toTable()).build());
+                if (!rateLimiter.acquire(1, request.getItem().getSerializedSize())) {
+                    inFlight.release();
+                    failure.set(ScanResult.RESOURCE_EXHAUSTED);
+                    return false;
+                }
+                CompletableFuture<InspectContentResponse> call;
                 try {
-                    ConversionService conv = Framework.getService(ConversionService.class);
-                    BlobHolder text = conv.convertToMimeType("text/plain", new SimpleBlobHolder(blob),
-                            Collections.emptyMap());
-                    blob = text.getBlob();
-                } catch (ConversionException cex) {
-                    log.warn("Unable to scan for DLP: " + cex.getMessage());
-                    return ScanResult.makeFailed();
+                    call = toCompletableFuture(client.inspectContentCallable().futureCall(request));
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                result.whenComplete((r, t) -> call.cancel(true));
+                calls.add(call.whenComplete((r, t) -> inFlight.release())
+                              .thenApply(response -> response.getResult()
+                                                             .getFindingsList()
+                                                             .stream()
+                                                             .map(f -> TableChunker.rebase(f, chunk))
+                                                             .collect(Collectors.toList())));
+                return true;
+            });
+        } catch (Exception e) {
+            log.error("Error calling Google Data Loss Prevention Service", e);
+            result.complete(ScanResult.makeFailed(getErrorCode(e)));
+            return;
+        }
+        if (failure.get() != null) {
+            log.warn("Rate limit wait exceeded, {} not scanned", blob.getFilename());
+            result.complete(ScanResult.makeFailed(failure.get()));
+            return;
+        }
+        log.debug("Inspecting {} in {} tables", blob.getFilename(), calls.size());
+
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).whenComplete((v, t) -> {
+            if (t != null) {
+                if (!result.isDone()) {
+                    log.error("Error calling Google Data Loss Prevention Service", t);
                 }
+                result.complete(ScanResult.makeFailed(getErrorCode(t)));
+                return;
+            }
+            try {
+                List<List<Finding>> findings = calls.stream().map(CompletableFuture::join).collect(Collectors.toList());
+                InspectContext context = new InspectContext(Collections.emptyList(), null, null, 1, 1, limit);
+                result.complete(toScanResult(TableChunker.merge(findings, limit), context));
+            } catch (RuntimeException e) {
+                log.error("Error reading Google Data Loss Prevention response", e);
+                result.complete(ScanResult.makeFailed());
             }
+        });
+    }
 
-            //if image, get dimensions
-            ImageInfo imageinfo = null;
-            if(mimeType !=null && mimeType.startsWith("image")) {
-                imageinfo = Framework.getService(ImagingService.class).getImageInfo(blob);
-            }
-
-            ByteContentItem.BytesType bytesType;
-            switch (mimeType) {
-            case "image/jpeg":
-                bytesType = ByteContentItem.BytesType.IMAGE_JPEG;
-                break;
-            case "image/bmp":
-                bytesType = ByteContentItem.BytesType.IMAGE_BMP;
-                break;
-            case "image/png":
-                bytesType = ByteContentItem.BytesType.IMAGE_PNG;
-                break;
-            case "image/svg":
-                bytesType = ByteContentItem.BytesType.IMAGE_SVG;
-                break;
-            case "application/pdf":
-                bytesType = ByteContentItem.BytesType.PDF;
-                break;
-            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document":
-                bytesType = ByteContentItem.BytesType.WORD_DOCUMENT;
-                break;
-            case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet":
-                bytesType = ByteContentItem.BytesType.EXCEL_DOCUMENT;
-                break;
-            case "application/vnd.openxmlformats-officedocument.presentationml.presentation":
-                bytesType = ByteContentItem.BytesType.POWERPOINT_DOCUMENT;
-                break;
-            default:
-                bytesType = ByteContentItem.BytesType.BYTES_TYPE_UNSPECIFIED;
-                break;
-            }
-
-            // Override info types
-            List<InfoType> infoTypes = infoTypesList;
-            if (features != null && !features.isEmpty()) {
-                infoTypes = features.stream()
-                                    .map(type -> InfoType.newBuilder().setName(type).build())
-                                    .collect(Collectors.toList());
-            }
-
-            ByteString bytes = ByteString.readFrom(blob.getStream());
-            if (bytes.size() == 0) {
-                return new ScanResult(Collections.emptyList());
-            }
-            ByteContentItem byteContentItem = ByteContentItem.newBuilder().setType(bytesType).setData(bytes).build();
-            ContentItem contentItem = ContentItem.newBuilder().setByteItem(byteContentItem).build();
-
-            FindingLimits findingLimits = FindingLimits.newBuilder()
-                                                       .setMaxFindingsPerRequest(
-                                                               maxResults != null ? maxResults : maxFindings)
-                                                       .build();
-
-            InspectConfig inspectConfig = InspectConfig.newBuilder()
-                                                       .addAllInfoTypes(infoTypes)
-                                                       .addAllCustomInfoTypes(customInfoTypesList)
-                                                       .setMinLikelihood(likelihood)
-                                                       .setLimits(findingLimits)
-                                                       .setIncludeQuote(includeQuote)
-                                                       .build();
-
-            InspectContentRequest request = InspectContentRequest.newBuilder()
-                                                                 .setParent(ProjectName.of(projectId).toString())
-                                                                 .setInspectConfig(inspectConfig)
-                                                                 .setItem(contentItem)
-                                                                 .build();
-
-            InspectContentResponse response = dlpServiceClient.inspectContent(request);
-
-            InspectResult result = response.getResult();
-            if (result.getFindingsCount() > 0) {
-                for (Finding finding : result.getFindingsList()) {
-                    String quote = null;
-                    if (includeQuote) {
-                        quote = finding.getQuote();
-                    }
+    /**
+     * A small text, or a small document converted to text, is packed with others in a single request.
+     *
+     * @since 2025.2
+     */
+    protected boolean isPackable(Blob blob, boolean doConvertToText) {
+        if (blob == null || blob.getLength() <= 0 || blob.getLength() > packMaxBlobSize) {
+            return false;
+        }
+        String mimeType = blob.getMimeType();
+        if (mimeType == null || mimeType.startsWith("image")) {
+            return false;
+        }
+        if (tableEnabled && TableChunker.isTabular(mimeType)) {
+            return false;
+        }
+        return mimeType.startsWith("text") || doConvertToText;
+    }
 
-                    String type = finding.getInfoType().getName();
-                    Likelihood score = finding.getLikelihood();
-                    boolean sensitive = score.ordinal() >= sensitivity.ordinal();
-                    
-                    // ==================== Handle location
-                    Location location = finding.getLocation();
+    /**
+     * Inspect small texts packed in as few requests as possible, on the batch executor. Each result completes with the
+     * findings of its own blob, as {@link #inspectAsync} would.
+     *
+     * @since 2025.2
+     */
+    protected void inspectPackedAsync(List<Blob> blobs, List<CompletableFuture<ScanResult>> results,
+            List<String> features, Integer maxResults, boolean doConvertToText) {
+        if (!isEnabled()) {
+            results.forEach(r -> r.complete(ScanResult.makeFailed()));
+            return;
+        }
+        try {
+            batchExecutor.execute(() -> inspectPacked(blobs, results, features, maxResults, doConvertToText));
+        } catch (RejectedExecutionException e) {
+            log.error("Google Data Loss Prevention provider is stopped", e);
+            results.forEach(r -> r.complete(ScanResult.makeFailed()));
+        }
+    }
 
-                    JSONObject locationJson = new JSONObject();
-                    locationJson.put("hasByteRange", location.hasByteRange());
-                    locationJson.put("hasCodepointRange", location.hasCodepointRange());
+    protected void inspectPacked(List<Blob> blobs, List<CompletableFuture<ScanResult>> results,
+            List<String> features, Integer maxResults, boolean doConvertToText) {
+        int limit = maxResults != null ? maxResults : maxFindings;
+        // the findings of a pack must not be truncated by the request limit
+        int maxTexts = Math.max(1, MAX_FINDINGS_PER_REQUEST / Math.max(1, limit));
+        TextPacker pack = new TextPacker(packSize, maxTexts);
+        for (int i = 0; i < blobs.size(); i++) {
+            CompletableFuture<ScanResult> result = results.get(i);
+            if (result.isDone()) {
+                // batch deadline already reached
+                continue;
+            }
+            String text;
+            try {
+                text = readText(blobs.get(i), doConvertToText);
+            } catch (ConversionException | IOException e) {
+                log.warn("Unable to scan for DLP: " + e.getMessage());
+                result.complete(ScanResult.makeFailed());
+                continue;
+            }
+            if (text.isEmpty()) {
+                result.complete(new ScanResult(Collections.emptyList()));
+                continue;
+            }
+            if (pack.add(i, text)) {
+                continue;
+            }
+            if (!pack.isEmpty()) {
+                inspectPack(pack, results, features, limit);
+                pack = new TextPacker(packSize, maxTexts);
+            }
+            if (!pack.add(i, text)) {
+                // larger than a pack once converted
+                inspectBlob(result, Blobs.createBlob(text), features, maxResults, false);
+            }
+        }
+        if (!pack.isEmpty()) {
+            inspectPack(pack, results, features, limit);
+        }
+    }
 
-                    if(imageinfo != null) {
-                        locationJson.put("pageWidth", imageinfo.getWidth());
-                        locationJson.put("pageHeight", imageinfo.getHeight());
-                    }
+    protected String readText(Blob blob, boolean doConvertToText) throws IOException {
+        if (doConvertToText && !blob.getMimeType().startsWith("text")) {
+            blob = TextSource.getText(blob);
+        }
+        return blob.getString();
+    }
 
-                    int contentLocationCount = location.getContentLocationsCount();
-                    JSONArray locations = new JSONArray();
-                    // Maybe we should get only first location?
-                    boolean firstImageLocHandled = false;
-                    for (int iLoc = 0; iLoc < contentLocationCount; iLoc++) {
-                        ContentLocation contentLocation = location.getContentLocations(iLoc);
-                        if (contentLocation.hasImageLocation()) {
-                            ImageLocation imageLocation = contentLocation.getImageLocation();
-                            if (imageLocation.getBoundingBoxesCount() > 0) {
-                                JSONObject oneLoc = new JSONObject();
-                                // Just get first one
-                                BoundingBox bb = imageLocation.getBoundingBoxes(0);
-                                oneLoc.put("top", bb.getTop());
-                                oneLoc.put("left", bb.getLeft());
-                                oneLoc.put("width", bb.getWidth());
-                                oneLoc.put("height", bb.getHeight());
-
-                                locations.put(oneLoc);
-                                
-                                if(!firstImageLocHandled) {
-                                    locationJson.put("firstImageLocation", oneLoc);
-                                    firstImageLocHandled = true;
-                                }
-                                
-                            }
-                        }
-                    }
-                    locationJson.put("imageLocations", locations);
-                    locationJson.put("hasImageLocation", locations.length() > 0);
-                    
-                    if(location.hasByteRange()) {
-                        JSONObject byteRange = new JSONObject();
-                        byteRange.put("start", location.getByteRange().getStart());
-                        byteRange.put("end", location.getByteRange().getEnd());
-                        locationJson.put("byteRange", byteRange);
+    /**
+     * Inspect a pack with a single request, holding one of the in-flight permits until the API answers, and split its
+     * findings back to the results of the packed blobs. If the findings were truncated, the texts are inspected again
+     * one by one so that a text with many findings cannot hide the others.
+     */
+    protected void inspectPack(TextPacker pack, List<CompletableFuture<ScanResult>> results, List<String> features,
+            int limit) {
+        List<CompletableFuture<ScanResult>> packResults = pack.getIndexes()
+                                                              .stream()
+                                                              .map(results::get)
+                                                              .collect(Collectors.toList());
+        CompletableFuture<Void> done = CompletableFuture.allOf(packResults.toArray(new CompletableFuture[0]));
+        if (done.isDone()) {
+            // batch deadline already reached
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            packResults.forEach(r -> r.complete(ScanResult.makeFailed()));
+            return;
+        }
+
+        InspectContentRequest request;
+        CompletableFuture<InspectContentResponse> call;
+        try {
+            int packLimit = Math.min(MAX_FINDINGS_PER_REQUEST, limit * pack.size());
+            ByteContentItem item = ByteContentItem.newBuilder()
+                                                  .setType(ByteContentItem.BytesType.TEXT_UTF8)
+                                                  .setData(ByteString.copyFromUtf8(pack.getText()))
+                                                  .build();
+            request = newInspectRequest(newInspectConfig(features, packLimit), item);
+            if (!rateLimiter.acquire(1, pack.getByteLength())) {
+                inFlight.release();
+                log.warn("Rate limit wait exceeded, {} packed blobs not scanned", pack.size());
+                packResults.forEach(r -> r.complete(ScanResult.makeFailed(ScanResult.RESOURCE_EXHAUSTED)));
+                return;
+            }
+            log.debug("Inspecting {} texts packed in {} bytes", pack.size(), pack.getByteLength());
+            call = toCompletableFuture(getClient().inspectContentCallable().futureCall(request));
+        } catch (Exception e) {
+            inFlight.release();
+            log.error("Error calling Google Data Loss Prevention Service", e);
+            packResults.forEach(r -> r.complete(ScanResult.makeFailed()));
+            return;
+        }
+        done.whenComplete((v, t) -> call.cancel(true));
+
+        call.whenComplete((response, t) -> {
+            inFlight.release();
+            if (t != null) {
+                if (!done.isDone()) {
+                    log.error("Error calling Google Data Loss Prevention Service", t);
+                }
+                String errorCode = getErrorCode(t);
+                packResults.forEach(r -> r.complete(ScanResult.makeFailed(errorCode)));
+                return;
+            }
+            if (response.getResult().getFindingsTruncated()) {
+                List<String> texts = pack.getTexts();
+                for (int i = 0; i < texts.size(); i++) {
+                    inspectAsync(Blobs.createBlob(texts.get(i)), features, limit, false).thenAccept(
+                            packResults.get(i)::complete);
+                }
+                return;
+            }
+            try {
+                InspectContext context = new InspectContext(Collections.singletonList(request), null, null, 1, 1,
+                        limit);
+                List<List<Finding>> findings = pack.split(response.getResult().getFindingsList(), limit);
+                for (int i = 0; i < packResults.size(); i++) {
+                    packResults.get(i).complete(toScanResult(findings.get(i), context));
+                }
+            } catch (RuntimeException e) {
+                log.error("Error reading Google Data Loss Prevention response", e);
+                packResults.forEach(r -> r.complete(ScanResult.makeFailed()));
+            }
+        });
+    }
+
+    /**
+     * Build the inspect request of a blob, converting it to text if needed. Text larger than the chunk size is split
+     * in overlapping chunks, inspected by as many requests.
+     *
+     * @return the requests, or null if there is nothing to inspect
+     * @since 2025.2
+     */
+    protected InspectContext prepareInspect(Blob blob, List<String> features, Integer maxResults,
+            boolean doConvertToText) throws IOException {
+        // detect file mime type, default to application/octet-stream
+        String mimeType = blob.getMimeType();
+        if (mimeType == null) {
+            mimeType = MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(blob.getFile());
+        }
+
+        if (doConvertToText
+                && (mimeType == null || (!mimeType.startsWith("text") && !mimeType.startsWith("image")))) {
+            blob = TextSource.getText(blob);
+        }
+
+        // if image, get dimensions only when needed: to sample it, or to read image locations
+        Supplier<ImageDimensions> dimensions = null;
+        double scaleX = 1;
+        double scaleY = 1;
+        if(mimeType !=null && mimeType.startsWith("image")) {
+            Blob image = blob;
+            dimensions = Suppliers.memoize(() -> ImageDimensions.of(image));
+            if (blob.getLength() > requestMaxSize && dimensions.get() != null) {
+                // too large for a single request, inspect a downscaled copy
+                SampledImage sampled = sampleImage(blob, dimensions.get());
+                scaleX = (double) sampled.getWidth() / dimensions.get().getWidth();
+                scaleY = (double) sampled.getHeight() / dimensions.get().getHeight();
+                blob = sampled.getBlob();
+                mimeType = blob.getMimeType();
+            }
+        }
+
+        ByteContentItem.BytesType bytesType;
+        switch (mimeType) {
+        case "image/jpeg":
+            bytesType = ByteContentItem.BytesType.IMAGE_JPEG;
+            break;
+        case "image/bmp":
+            bytesType = ByteContentItem.BytesType.IMAGE_BMP;
+            break;
+        case "image/png":
+            bytesType = ByteContentItem.BytesType.IMAGE_PNG;
+            break;
+        case "image/svg":
+            bytesType = ByteContentItem.BytesType.IMAGE_SVG;
+            break;
+        case "application/pdf":
+            bytesType = ByteContentItem.BytesType.PDF;
+            break;
+        case "application/vnd.openxmlformats-officedocument.wordprocessingml.document":
+            bytesType = ByteContentItem.BytesType.WORD_DOCUMENT;
+            break;
+        case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet":
+            bytesType = ByteContentItem.BytesType.EXCEL_DOCUMENT;
+            break;
+        case "application/vnd.openxmlformats-officedocument.presentationml.presentation":
+            bytesType = ByteContentItem.BytesType.POWERPOINT_DOCUMENT;
+            break;
+        default:
+            bytesType = ByteContentItem.BytesType.BYTES_TYPE_UNSPECIFIED;
+            break;
+        }
+
+        ByteString bytes = BlobPayload.read(blob, payloadMapThreshold);
+        if (bytes.size() == 0) {
+            return null;
+        }
+
+        int limit = maxResults != null ? maxResults : maxFindings;
+        InspectConfig inspectConfig = newInspectConfig(features, limit);
+
+        String contentType = blob.getMimeType() != null ? blob.getMimeType() : mimeType;
+        if (chunkEnabled && bytes.size() > chunkSize && contentType != null && contentType.startsWith("text")) {
+            List<TextChunker.TextChunk> chunks = TextChunker.split(bytes.toStringUtf8(), chunkSize, chunkOverlap);
+            log.debug("Inspecting {} bytes of text in {} chunks", bytes.size(), chunks.size());
+            List<InspectContentRequest> requests = new ArrayList<>(chunks.size());
+            for (TextChunker.TextChunk chunk : chunks) {
+                ByteContentItem chunkItem = ByteContentItem.newBuilder()
+                                                           .setType(ByteContentItem.BytesType.TEXT_UTF8)
+                                                           .setData(ByteString.copyFromUtf8(chunk.getText()))
+                                                           .build();
+                requests.add(newInspectRequest(inspectConfig, chunkItem));
+            }
+            return new InspectContext(requests, chunks, dimensions, 1, 1, limit);
+        }
+
+        ByteContentItem byteContentItem = ByteContentItem.newBuilder().setType(bytesType).setData(bytes).build();
+        return new InspectContext(Collections.singletonList(newInspectRequest(inspectConfig, byteContentItem)), null,
+                dimensions, scaleX, scaleY, limit);
+    }
+
+    /**
+     * Downscale an image too large for a single request. The bounding boxes found in the copy are scaled back to the
+     * original image.
+     *
+     * @since 2025.2
+     */
+    protected SampledImage sampleImage(Blob blob, ImageDimensions imageInfo) throws IOException {
+        ImagingService imagingService = Framework.getService(ImagingService.class);
+        // the pixel count drives the size of the copy
+        double scale = Math.min(1, Math.sqrt((double) requestMaxSize / blob.getLength()));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int width = Math.max(1, (int) (imageInfo.getWidth() * scale));
+            int height = Math.max(1, (int) (imageInfo.getHeight() * scale));
+            Blob sampled = imagingService.resize(blob, "jpg", width, height, 8);
+            if (sampled != null && sampled.getLength() <= requestMaxSize) {
+                sampled.setMimeType("image/jpeg");
+                log.debug("Inspecting {} sampled from {}x{} to {}x{}", blob.getFilename(), imageInfo.getWidth(),
+                        imageInfo.getHeight(), width, height);
+                return new SampledImage(sampled, width, height);
+            }
+            scale *= 0.7;
+        }
+        throw new IOException("Unable to sample " + blob.getFilename() + " under " + requestMaxSize + " bytes");
+    }
+
+    /**
+     * @since 2025.2
+     */
+    protected InspectConfig newInspectConfig(List<String> features, int limit) {
+        // Override info types
+        List<InfoType> infoTypes = infoTypesList;
+        if (features != null && !features.isEmpty()) {
+            infoTypes = features.stream()
+                                .map(type -> InfoType.newBuilder().setName(type).build())
+                                .collect(Collectors.toList());
+        }
+        FindingLimits findingLimits = FindingLimits.newBuilder().setMaxFindingsPerRequest(limit).build();
+        return InspectConfig.newBuilder()
+                            .addAllInfoTypes(infoTypes)
+                            .addAllCustomInfoTypes(customInfoTypesList)
+                            .setMinLikelihood(likelihood)
+                            .setLimits(findingLimits)
+                            .setIncludeQuote(includeQuote)
+                            .build();
+    }
+
+    protected InspectContentRequest newInspectRequest(InspectConfig inspectConfig, ByteContentItem byteContentItem) {
+        return newInspectRequest(inspectConfig, ContentItem.newBuilder().setByteItem(byteContentItem).build());
+    }
+
+    /**
+     * @since 2025.2
+     */
+    protected InspectContentRequest newInspectRequest(InspectConfig inspectConfig, ContentItem contentItem) {
+        return InspectContentRequest.newBuilder()
+                                    .setParent(ProjectName.of(projectId).toString())
+                                    .setInspectConfig(inspectConfig)
+                                    .setItem(contentItem)
+                                    .build();
+    }
+
+    /**
+     * Convert the findings returned by the API.
+     *
+     * @since 2025.2
+     */
+    protected ScanResult toScanResult(List<Finding> result, InspectContext context) {
+        List<ScanFinding> findings = new LinkedList<>();
+        // dimensions of the original image, read only if a finding is located in it
+        boolean hasImageLocation = result.stream()
+                                         .flatMap(f -> f.getLocation().getContentLocationsList().stream())
+                                         .anyMatch(ContentLocation::hasImageLocation);
+        ImageDimensions imageinfo = hasImageLocation && context.imageDimensions != null
+                ? context.imageDimensions.get()
+                : null;
+        if (!result.isEmpty()) {
+            for (Finding finding : result) {
+                String quote = null;
+                if (includeQuote) {
+                    quote = finding.getQuote();
+                }
+
+                String type = finding.getInfoType().getName();
+                Likelihood score = finding.getLikelihood();
+                boolean sensitive = score.ordinal() >= sensitivity.ordinal();
+                
+                // ==================== Handle location
+                Location location = finding.getLocation();
+                ScanLocation scanLocation = new ScanLocation();
+
+                if(imageinfo != null) {
+                    scanLocation.setPageSize(imageinfo.getWidth(), imageinfo.getHeight());
+                }
+
+                int contentLocationCount = location.getContentLocationsCount();
+                for (int iLoc = 0; iLoc < contentLocationCount; iLoc++) {
+                    ContentLocation contentLocation = location.getContentLocations(iLoc);
+                    if (contentLocation.hasRecordLocation()
+                            && contentLocation.getRecordLocation().hasTableLocation()) {
+                        RecordLocation recordLocation = contentLocation.getRecordLocation();
+                        scanLocation.addCell(recordLocation.getTableLocation().getRowIndex(),
+                                recordLocation.getFieldId().getName(),
+                                StringUtils.trimToNull(contentLocation.getContainerName()));
                     }
-                    
-                    if(location.hasCodepointRange()) {
-                        JSONObject codePointRange = new JSONObject();
-                        codePointRange.put("start", location.getCodepointRange().getStart());
-                        codePointRange.put("end", location.getCodepointRange().getEnd());
-                        locationJson.put("codePointRange", codePointRange);
+                    if (contentLocation.hasImageLocation()) {
+                        ImageLocation imageLocation = contentLocation.getImageLocation();
+                        if (imageLocation.getBoundingBoxesCount() > 0) {
+                            // Just get first one
+                            BoundingBox bb = imageLocation.getBoundingBoxes(0);
+                            scanLocation.addBox((int) Math.round(bb.getTop() / context.scaleY),
+                                    (int) Math.round(bb.getLeft() / context.scaleX),
+                                    (int) Math.round(bb.getWidth() / context.scaleX),
+                                    (int) Math.round(bb.getHeight() / context.scaleY));
+                        }
                     }
-                    // ==================== /Handle location
-                    
-                    findings.add(new ScanFinding(sensitive, score.toString(), type, quote, locationJson.toString()));
                 }
 
+                if(location.hasByteRange()) {
+                    scanLocation.setByteRange(location.getByteRange().getStart(), location.getByteRange().getEnd());
+                }
+
+                if(location.hasCodepointRange()) {
+                    scanLocation.setCodePointRange(location.getCodepointRange().getStart(),
+                            location.getCodepointRange().getEnd());
+                }
+                // ==================== /Handle location
+
+                findings.add(new ScanFinding(sensitive, score.toString(), type, quote, scanLocation));
             }
-            return new ScanResult(findings);
-        } catch (Exception e) {
-            log.error("Error calling Google Data Loss Prevention Service", e);
-            return ScanResult.makeFailed();
+
         }
+        return new ScanResult(findings);
     }
 
     @Override
@@ -408,73 +1134,138 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
         return blobs.stream().map(b -> performRedaction(b, features)).collect(Collectors.toList());
     }
 
-    protected Blob performRedaction(Blob blob, List<String> features) {
-        try (DlpServiceClient dlp = DlpServiceClient.create()) {
-            // Specify the project used for request.
-            ProjectName project = ProjectName.of(projectId);
-
-            String mimeType = blob.getMimeType();
-            if (mimeType == null) {
-                mimeType = MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(blob.getFile());
-            }
-
-            ByteContentItem.BytesType bytesType;
-            switch (mimeType) {
-            case "image/jpeg":
-                bytesType = ByteContentItem.BytesType.IMAGE_JPEG;
-                break;
-            case "image/bmp":
-                bytesType = ByteContentItem.BytesType.IMAGE_BMP;
-                break;
-            case "image/png":
-                bytesType = ByteContentItem.BytesType.IMAGE_PNG;
-                break;
-            case "image/svg":
-                bytesType = ByteContentItem.BytesType.IMAGE_SVG;
-                break;
-            default:
-                bytesType = ByteContentItem.BytesType.BYTES_TYPE_UNSPECIFIED;
-                break;
-            }
-
-            // Specify the content to be inspected.
-            ByteString fileBytes = ByteString.readFrom(blob.getStream());
-            ByteContentItem byteItem = ByteContentItem.newBuilder().setType(bytesType).setData(fileBytes).build();
-
-            // Override info types
-            List<InfoType> infoTypes = infoTypesList;
-            if (features != null && !features.isEmpty()) {
-                infoTypes = features.stream()
-                                    .map(type -> InfoType.newBuilder().setName(type).build())
-                                    .collect(Collectors.toList());
+    @Override
+    public CompletableFuture<Blob> redactAsync(Blob blob, List<String> features) {
+        ExecutorService executor = batchExecutor;
+        if (executor == null) {
+            return CompletableFuture.failedFuture(
+                    new NuxeoException("Google Data Loss Prevention provider is not started"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                RedactImageRequest request = acquirePermits(prepareRedaction(blob, features));
+                return getClient().redactImageCallable().futureCall(request);
+            } catch (IOException e) {
+                throw new NuxeoException("Unable to redact image", e);
             }
+        }, executor).thenCompose(GoogleDLPScanProvider::toCompletableFuture).thenApply(this::toRedactedBlob);
+    }
 
-            InspectConfig config = InspectConfig.newBuilder()
-                                                .addAllInfoTypes(infoTypes)
-                                                .addAllCustomInfoTypes(customInfoTypesList)
-                                                .setMinLikelihood(likelihood)
-                                                .build();
+    protected Blob performRedaction(Blob blob, List<String> features) {
+        try {
+            return toRedactedBlob(getClient().redactImage(acquirePermits(prepareRedaction(blob, features))));
+        } catch (Exception e) {
+            throw new NuxeoException("Unable to redact image", e);
+        }
+    }
 
-            // Construct the Redact request to be sent by the client.
-            RedactImageRequest request = RedactImageRequest.newBuilder()
-                                                           .setParent(project.toString())
-                                                           .setByteItem(byteItem)
-                                                           .setInspectConfig(config)
-                                                           .build();
+    /**
+     * Wait for the rate limit permits of a redaction.
+     *
+     * @since 2025.2
+     */
+    protected RedactImageRequest acquirePermits(RedactImageRequest request) {
+        if (!rateLimiter.acquire(1, request.getByteItem().getData().size())) {
+            throw new NuxeoException("Rate limit wait exceeded");
+        }
+        return request;
+    }
+
+    /**
+     * @since 2025.2
+     */
+    protected RedactImageRequest prepareRedaction(Blob blob, List<String> features) throws IOException {
+        // Specify the project used for request.
+        ProjectName project = ProjectName.of(projectId);
+
+        String mimeType = blob.getMimeType();
+        if (mimeType == null) {
+            mimeType = MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(blob.getFile());
+        }
+
+        ByteContentItem.BytesType bytesType;
+        switch (mimeType) {
+        case "image/jpeg":
+            bytesType = ByteContentItem.BytesType.IMAGE_JPEG;
+            break;
+        case "image/bmp":
+            bytesType = ByteContentItem.BytesType.IMAGE_BMP;
+            break;
+        case "image/png":
+            bytesType = ByteContentItem.BytesType.IMAGE_PNG;
+            break;
+        case "image/svg":
+            bytesType = ByteContentItem.BytesType.IMAGE_SVG;
+            break;
+        default:
+            bytesType = ByteContentItem.BytesType.BYTES_TYPE_UNSPECIFIED;
+            break;
+        }
+
+        // Specify the content to be inspected.
+        ByteString fileBytes = BlobPayload.read(blob, payloadMapThreshold);
+        ByteContentItem byteItem = ByteContentItem.newBuilder().setType(bytesType).setData(fileBytes).build();
+
+        // Override info types
+        List<InfoType> infoTypes = infoTypesList;
+        if (features != null && !features.isEmpty()) {
+            infoTypes = features.stream()
+                                .map(type -> InfoType.newBuilder().setName(type).build())
+                                .collect(Collectors.toList());
+        }
 
-            // Use the client to send the API request.
-            RedactImageResponse response = dlp.redactImage(request);
+        InspectConfig config = InspectConfig.newBuilder()
+                                            .addAllInfoTypes(infoTypes)
+                                            .addAllCustomInfoTypes(customInfoTypesList)
+                                            .setMinLikelihood(likelihood)
+                                            .build();
+
+        // Construct the Redact request to be sent by the client.
+        return RedactImageRequest.newBuilder()
+                                 .setParent(project.toString())
+                                 .setByteItem(byteItem)
+                                 .setInspectConfig(config)
+                                 .build();
+    }
 
+    /**
+     * @since 2025.2
+     */
+    protected Blob toRedactedBlob(RedactImageResponse response) {
+        try {
             // Parse the response and process results.
             Blob redacted = Blobs.createBlob(response.getRedactedImage().newInput());
             redacted.setFilename("redacted.png");
             redacted.setMimeType("image/png");
             return redacted;
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new NuxeoException("Unable to redact image", e);
         }
     }
 
+    /**
+     * Adapt a future returned by the client, completing the adapted future cancels the call.
+     *
+     * @since 2025.2
+     */
+    protected static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> apiFuture) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ApiFutures.addCallback(apiFuture, new ApiFutureCallback<T>() {
+
+            @Override
+            public void onSuccess(T result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+        future.whenComplete((r, t) -> apiFuture.cancel(true));
+        return future;
+    }
+
     /**
      * Create a new DLP inspection configuration template.
      *
@@ -486,7 +1277,8 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
      * @param maxFindings The maximum number of findings to report per request (0 = server maximum)
      */
     protected void createInspectTemplate(String displayName, String templateId, String description) {
-        try (DlpServiceClient dlpClient = DlpServiceClient.create()) {
+        try {
+            DlpServiceClient dlpClient = getClient();
             String project = ProjectName.of(projectId).toString();
             FindingLimits findingLimits = FindingLimits.newBuilder().setMaxFindingsPerRequest(maxFindings).build();
 
@@ -525,24 +1317,103 @@ public class GoogleDLPScanProvider implements RedactionProvider, ScanProvider, G
      * @throws IOException
      */
     public List<InfoTypeDescription> getInfoTypes(String filter, String languageCode) throws IOException {
-        try (DlpServiceClient dlpClient = DlpServiceClient.create()) {
-            ListInfoTypesRequest.Builder builder = ListInfoTypesRequest.newBuilder();
-            if (filter != null) {
-                builder.setFilter(filter);
-            }
-            if (languageCode != null) {
-                builder.setLanguageCode(languageCode);
-            }
-
-            ListInfoTypesRequest request = builder.build();
-            ListInfoTypesResponse infoTypesResponse = dlpClient.listInfoTypes(request);
-            return infoTypesResponse.getInfoTypesList();
+        ListInfoTypesRequest.Builder builder = ListInfoTypesRequest.newBuilder();
+        if (filter != null) {
+            builder.setFilter(filter);
+        }
+        if (languageCode != null) {
+            builder.setLanguageCode(languageCode);
         }
+
+        ListInfoTypesRequest request = builder.build();
+        ListInfoTypesResponse infoTypesResponse = getClient().listInfoTypes(request);
+        return infoTypesResponse.getInfoTypesList();
     }
 
     @Override
-    public void setNextIdentifyConvertToTextValue(boolean value) {
+    public synchronized void setNextIdentifyConvertToTextValue(boolean value) {
         nextIdentifyConvertToText = value;
     }
 
+    /**
+     * @return the convertToText value set for the current identify call, null for the configured value
+     */
+    protected synchronized Boolean consumeConvertToText() {
+        Boolean doConvertToText = nextIdentifyConvertToText;
+        nextIdentifyConvertToText = null;
+        return doConvertToText;
+    }
+
+    /**
+     * Inspect requests of a blob along with what is needed to read their findings
+     *
+     * @since 2025.2
+     */
+    protected static class InspectContext {
+
+        protected final List<InspectContentRequest> requests;
+
+        // chunks of the text inspected by each request, null when the blob is inspected by a single request
+        protected final List<TextChunker.TextChunk> chunks;
+
+        // dimensions of the original image, computed on first use
+        protected final Supplier<ImageDimensions> imageDimensions;
+
+        // ratio between the inspected image and the original one, when sampled
+        protected final double scaleX;
+
+        protected final double scaleY;
+
+        protected final int maxFindings;
+
+        protected InspectContext(List<InspectContentRequest> requests, List<TextChunker.TextChunk> chunks,
+                Supplier<ImageDimensions> imageDimensions, double scaleX, double scaleY, int maxFindings) {
+            this.requests = requests;
+            this.chunks = chunks;
+            this.imageDimensions = imageDimensions;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.maxFindings = maxFindings;
+        }
+
+        /**
+         * @return the size of the content sent by all the requests
+         */
+        protected long getSize() {
+            return requests.stream().mapToLong(r -> r.getItem().getByteItem().getData().size()).sum();
+        }
+    }
+
+    /**
+     * Downscaled copy of an image
+     *
+     * @since 2025.2
+     */
+    protected static class SampledImage {
+
+        protected final Blob blob;
+
+        protected final int width;
+
+        protected final int height;
+
+        protected SampledImage(Blob blob, int width, int height) {
+            this.blob = blob;
+            this.width = width;
+            this.height = height;
+        }
+
+        public Blob getBlob() {
+            return blob;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
 }
@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,6 +41,7 @@ import org.nuxeo.ecm.platform.mimetype.interfaces.MimetypeRegistry;
 import org.nuxeo.ecm.platform.rendition.extension.RenditionProvider;
 import org.nuxeo.ecm.platform.rendition.service.RenditionDefinition;
 import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.platform.scanner.dlp.service.ConversionCache;
 import org.nuxeo.runtime.api.Framework;
 
 /**
@@ -107,7 +110,17 @@ public class GoogleRenditionProvider implements RenditionProvider {
     }
 
     public Blob redact(Blob blob, List<String> features) {
-        Blob data = dlp().redact(blob, features);
+        return withMimeType(dlp().redact(blob, features));
+    }
+
+    /**
+     * @since 2025.2
+     */
+    public CompletableFuture<Blob> redactAsync(Blob blob, List<String> features) {
+        return dlp().redactAsync(blob, features).thenApply(this::withMimeType);
+    }
+
+    protected Blob withMimeType(Blob data) {
         if (data.getMimeType() == null) {
             MimetypeRegistry reg = Framework.getService(MimetypeRegistry.class);
             data.setMimeType(reg.getMimetypeFromBlob(data));
@@ -122,15 +135,35 @@ public class GoogleRenditionProvider implements RenditionProvider {
     public Blob redactDocument(BlobHolder input, List<String> features) {
         ConversionService conv = Framework.getService(ConversionService.class);
 
-        if (!MimetypeRegistry.PDF_MIMETYPE.equals(input.getBlob().getMimeType())) {
-            input = conv.convertToMimeType(MimetypeRegistry.PDF_MIMETYPE, input, Collections.emptyMap());
+        // the conversions are cached by digest of the document, redacting it again does not convert it again
+        Blob source = input.getBlob();
+        List<Blob> pages = ConversionCache.convert(source, "pdf2hiResImage", () -> {
+            BlobHolder pdf = input;
+            if (!MimetypeRegistry.PDF_MIMETYPE.equals(source.getMimeType())) {
+                pdf = new SimpleBlobHolder(ConversionCache.convert(source, MimetypeRegistry.PDF_MIMETYPE,
+                        () -> Collections.singletonList(conv.convertToMimeType(MimetypeRegistry.PDF_MIMETYPE, input,
+                                Collections.emptyMap()).getBlob())).get(0));
+            }
+            return conv.convert("pdf2hiResImage", pdf,
+                    Collections.singletonMap("targetFilePath", "conversion_%04d.png")).getBlobs();
+        });
+        // Redact all the pages concurrently
+        List<CompletableFuture<Blob>> redactions = new ArrayList<>(pages.size());
+        for (Blob img : pages) {
+            redactions.add(redactAsync(img, features));
         }
 
-        BlobHolder images = conv.convert("pdf2hiResImage", input,
-                Collections.singletonMap("targetFilePath", "conversion_%04d.png"));
-        List<Blob> parts = new ArrayList<>(images.getBlobs().size());
-        for (Blob img : images.getBlobs()) {
-            Blob out = redact(img, features);
+        List<Blob> parts = new ArrayList<>(pages.size());
+        for (CompletableFuture<Blob> redaction : redactions) {
+            Blob out;
+            try {
+                out = redaction.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof NuxeoException) {
+                    throw (NuxeoException) e.getCause();
+                }
+                throw new NuxeoException("Unable to redact document", e.getCause());
+            }
             BlobHolder toPdf = conv.convert("image2pdf", new SimpleBlobHolder(out), Collections.emptyMap());
             parts.add(toPdf.getBlob());
         }
@@ -148,7 +181,7 @@ public class GoogleRenditionProvider implements RenditionProvider {
             for (Blob blob : parts) {
                 ut.addSource(blob.getCloseableFile().getFile());
             }
-            return appendPDFs(ut, input.getBlob().getFilename());
+            return appendPDFs(ut, source.getFilename());
         } catch (IOException iox) {
             throw new NuxeoException(iox);
         }
@@ -0,0 +1,231 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.platform.picture.api.ImageInfo;
+import org.nuxeo.ecm.platform.picture.api.ImagingService;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.runtime.api.Framework;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Dimensions of an image, read from the header of JPEG, PNG, GIF, BMP and TIFF files without decoding them. Other
+ * formats, and headers that cannot be read, fall back to the {@link ImagingService}, which runs ImageMagick.
+ * <p/>
+ * Dimensions are cached by digest. Headers read and fallbacks are counted in {@code nuxeo.dlp.image.dimensions.header}
+ * and {@code nuxeo.dlp.image.dimensions.fallback}.
+ *
+ * @since 2025.2
+ */
+public class ImageDimensions {
+
+    private static final Logger log = LogManager.getLogger(ImageDimensions.class);
+
+    // enough for the first directory of usual TIFF files
+    protected static final int TIFF_HEADER_SIZE = 65536;
+
+    protected static final Cache<String, ImageDimensions> CACHE = CacheBuilder.newBuilder().maximumSize(10000).build();
+
+    protected static final ScanMetrics METRICS = new ScanMetrics();
+
+    protected static final Counter header = METRICS.counter("image", "dimensions", "header");
+
+    protected static final Counter fallback = METRICS.counter("image", "dimensions", "fallback");
+
+    protected final int width;
+
+    protected final int height;
+
+    public ImageDimensions(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the dimensions of the image, null if unknown
+     */
+    public static ImageDimensions of(Blob blob) {
+        String digest = blob.getDigest();
+        ImageDimensions dimensions = digest != null ? CACHE.getIfPresent(digest) : null;
+        if (dimensions != null) {
+            return dimensions;
+        }
+        try (InputStream stream = blob.getStream()) {
+            dimensions = probe(stream);
+        } catch (IOException e) {
+            log.debug("Unable to read the header of {}", blob.getFilename(), e);
+        }
+        if (dimensions != null) {
+            header.inc();
+        } else {
+            fallback.inc();
+            ImagingService imagingService = Framework.getService(ImagingService.class);
+            ImageInfo info = imagingService != null ? imagingService.getImageInfo(blob) : null;
+            if (info != null) {
+                dimensions = new ImageDimensions(info.getWidth(), info.getHeight());
+            }
+        }
+        if (dimensions != null && digest != null) {
+            CACHE.put(digest, dimensions);
+        }
+        return dimensions;
+    }
+
+    /**
+     * @return the dimensions read from the header of the image, null if the format is not supported or the header is
+     *         invalid
+     */
+    public static ImageDimensions probe(InputStream stream) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(stream));
+        try {
+            data.mark(2);
+            int magic = data.readUnsignedShort();
+            data.reset();
+            if (magic == 0xFFD8) {
+                return probeJpeg(data);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(data.readNBytes(TIFF_HEADER_SIZE));
+            if (magic == 0x8950) {
+                return probePng(bytes);
+            } else if (magic == 0x4749) {
+                return probeGif(bytes);
+            } else if (magic == 0x424D) {
+                return probeBmp(bytes);
+            } else if (magic == 0x4949 || magic == 0x4D4D) {
+                return probeTiff(bytes);
+            }
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            // truncated header
+        }
+        return null;
+    }
+
+    protected static ImageDimensions probeJpeg(DataInputStream data) throws IOException {
+        data.readUnsignedShort();
+        while (true) {
+            if (data.readUnsignedByte() != 0xFF) {
+                return null;
+            }
+            int marker = data.readUnsignedByte();
+            while (marker == 0xFF) {
+                // fill bytes
+                marker = data.readUnsignedByte();
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                // markers without segment
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                // end of image or start of scan before any frame
+                return null;
+            }
+            int length = data.readUnsignedShort();
+            if (length < 2) {
+                return null;
+            }
+            // start of frame markers, except the huffman (C4), extension (C8) and arithmetic (CC) tables
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                data.readUnsignedByte();
+                int height = data.readUnsignedShort();
+                int width = data.readUnsignedShort();
+                return valid(width, height);
+            }
+            IOUtils.skipFully(data, length - 2L);
+        }
+    }
+
+    protected static ImageDimensions probePng(ByteBuffer bytes) {
+        // signature, then the IHDR chunk: length, type, width, height
+        if (bytes.getInt(12) != 0x49484452) {
+            return null;
+        }
+        return valid(bytes.getInt(16), bytes.getInt(20));
+    }
+
+    protected static ImageDimensions probeGif(ByteBuffer bytes) {
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        return valid(Short.toUnsignedInt(bytes.getShort(6)), Short.toUnsignedInt(bytes.getShort(8)));
+    }
+
+    protected static ImageDimensions probeBmp(ByteBuffer bytes) {
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.getInt(14) == 12) {
+            // OS/2 core header
+            return valid(Short.toUnsignedInt(bytes.getShort(18)), Short.toUnsignedInt(bytes.getShort(20)));
+        }
+        // negative for top-down bitmaps
+        return valid(bytes.getInt(18), Math.abs(bytes.getInt(22)));
+    }
+
+    protected static ImageDimensions probeTiff(ByteBuffer bytes) {
+        bytes.order(bytes.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        if (bytes.getShort(2) != 42) {
+            return null;
+        }
+        int ifd = bytes.getInt(4);
+        int entries = Short.toUnsignedInt(bytes.getShort(ifd));
+        int width = -1;
+        int height = -1;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            int tag = Short.toUnsignedInt(bytes.getShort(entry));
+            if (tag != 256 && tag != 257) {
+                continue;
+            }
+            int type = Short.toUnsignedInt(bytes.getShort(entry + 2));
+            // SHORT or LONG value, stored in the entry
+            int value = type == 3 ? Short.toUnsignedInt(bytes.getShort(entry + 8)) : bytes.getInt(entry + 8);
+            if (tag == 256) {
+                width = value;
+            } else {
+                height = value;
+            }
+        }
+        return valid(width, height);
+    }
+
+    protected static ImageDimensions valid(int width, int height) {
+        return width > 0 && height > 0 ? new ImageDimensions(width, height) : null;
+    }
+
+}
@@ -0,0 +1,362 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.CloseableFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import com.google.privacy.dlp.v2.ContentLocation;
+import com.google.privacy.dlp.v2.FieldId;
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.Location;
+import com.google.privacy.dlp.v2.RecordLocation;
+import com.google.privacy.dlp.v2.Table;
+import com.google.privacy.dlp.v2.TableLocation;
+import com.google.privacy.dlp.v2.Value;
+
+/**
+ * Stream the rows of a CSV, TSV or XLSX blob in tables small enough for a single inspect request, and rebase the table
+ * locations of their findings on the original file.
+ * <p/>
+ * Rows are read one at a time and handed over in chunks bounded by a row count and a size, so that only the chunks
+ * being inspected are held in memory. Columns are named like spreadsheet columns (A, B, ...) and rows are indexed from
+ * 0 in their file or sheet; the first row is inspected like the others.
+ *
+ * @since 2025.2
+ */
+public class TableChunker {
+
+    public static final String CSV_MIME_TYPE = "text/csv";
+
+    public static final String TSV_MIME_TYPE = "text/tab-separated-values";
+
+    public static final String XLSX_MIME_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // approximate size of the envelope of a cell in a request
+    protected static final int CELL_OVERHEAD = 4;
+
+    protected final int maxRows;
+
+    protected final int maxBytes;
+
+    protected final ChunkConsumer consumer;
+
+    protected String sheet;
+
+    protected List<List<String>> rows = new ArrayList<>();
+
+    protected List<Long> rowIndexes = new ArrayList<>();
+
+    protected long bytes;
+
+    /**
+     * Receive the chunks of a table.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * @return false to stop reading
+         */
+        boolean accept(TableChunk chunk) throws IOException;
+    }
+
+    /**
+     * Consecutive rows of a table
+     */
+    public static class TableChunk {
+
+        protected final String sheet;
+
+        protected final List<List<String>> rows;
+
+        protected final List<Long> rowIndexes;
+
+        public TableChunk(String sheet, List<List<String>> rows, List<Long> rowIndexes) {
+            this.sheet = sheet;
+            this.rows = rows;
+            this.rowIndexes = rowIndexes;
+        }
+
+        /**
+         * @return the name of the sheet of the rows, null for a CSV or TSV file
+         */
+        public String getSheet() {
+            return sheet;
+        }
+
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        /**
+         * @return the index of a row of the chunk in its file or sheet
+         */
+        public long getRowIndex(int row) {
+            return rowIndexes.get(row);
+        }
+
+        /**
+         * @return the rows as a table, padded to the width of the widest row
+         */
+        public Table toTable() {
+            int width = rows.stream().mapToInt(List::size).max().orElse(0);
+            Table.Builder table = Table.newBuilder();
+            for (int col = 0; col < width; col++) {
+                table.addHeaders(FieldId.newBuilder().setName(CellReference.convertNumToColString(col)));
+            }
+            for (List<String> row : rows) {
+                Table.Row.Builder tableRow = Table.Row.newBuilder();
+                for (int col = 0; col < width; col++) {
+                    String cell = col < row.size() ? row.get(col) : null;
+                    tableRow.addValues(Value.newBuilder().setStringValue(cell != null ? cell : ""));
+                }
+                table.addRows(tableRow);
+            }
+            return table.build();
+        }
+    }
+
+    /**
+     * Thrown by the readers to stop once the consumer is done
+     */
+    protected static class StopReadingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        protected StopReadingException() {
+            super(null, null, false, false);
+        }
+    }
+
+    protected TableChunker(int maxRows, int maxBytes, ChunkConsumer consumer) {
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.consumer = consumer;
+    }
+
+    public static boolean isTabular(String mimeType) {
+        return CSV_MIME_TYPE.equals(mimeType) || TSV_MIME_TYPE.equals(mimeType) || "text/tsv".equals(mimeType)
+                || XLSX_MIME_TYPE.equals(mimeType);
+    }
+
+    /**
+     * Read the rows of a tabular blob and hand them over in chunks.
+     *
+     * @param maxRows the maximum number of rows of a chunk
+     * @param maxBytes the approximate maximum UTF-8 size of a chunk
+     */
+    public static void read(Blob blob, int maxRows, int maxBytes, ChunkConsumer consumer) throws IOException {
+        TableChunker chunker = new TableChunker(maxRows, maxBytes, consumer);
+        try {
+            if (XLSX_MIME_TYPE.equals(blob.getMimeType())) {
+                chunker.readXlsx(blob);
+            } else {
+                chunker.readDelimited(blob);
+            }
+            chunker.flush();
+        } catch (StopReadingException e) {
+            // consumer is done
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected void readDelimited(Blob blob) throws IOException {
+        CSVFormat format = CSV_MIME_TYPE.equals(blob.getMimeType()) ? CSVFormat.DEFAULT : CSVFormat.TDF;
+        Charset charset = StringUtils.isNotBlank(blob.getEncoding()) ? Charset.forName(blob.getEncoding())
+                : StandardCharsets.UTF_8;
+        try (InputStream stream = blob.getStream();
+                Reader reader = new InputStreamReader(stream, charset);
+                CSVParser parser = CSVParser.parse(reader, format)) {
+            for (CSVRecord record : parser) {
+                List<String> row = new ArrayList<>(record.size());
+                record.forEach(row::add);
+                addRow(record.getRecordNumber() - 1, row);
+            }
+        }
+    }
+
+    protected void readXlsx(Blob blob) throws IOException {
+        // the package is opened from a file so that the whole zip is not loaded in memory
+        try (CloseableFile file = blob.getCloseableFile();
+                OPCPackage pkg = OPCPackage.open(file.getFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream stream = sheets.next()) {
+                    flush();
+                    sheet = sheets.getSheetName();
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                            new RowHandler(), new DataFormatter(), false));
+                    parser.parse(new InputSource(stream));
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to read " + blob.getFilename(), e);
+        }
+    }
+
+    /**
+     * Collect the cells of the rows of a sheet, empty rows are skipped.
+     */
+    protected class RowHandler implements SheetContentsHandler {
+
+        protected List<String> row;
+
+        @Override
+        public void startRow(int rowNum) {
+            row = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!row.isEmpty()) {
+                addRow(rowNum, row);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : row.size();
+            while (row.size() < col) {
+                row.add(null);
+            }
+            row.add(formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // not inspected
+        }
+    }
+
+    protected void addRow(long rowIndex, List<String> row) {
+        long size = row.stream().mapToLong(c -> utf8Length(c) + CELL_OVERHEAD).sum();
+        if (!rows.isEmpty() && (rows.size() >= maxRows || bytes + size > maxBytes)) {
+            flush();
+        }
+        rows.add(row);
+        rowIndexes.add(rowIndex);
+        bytes += size;
+    }
+
+    protected static long utf8Length(String cell) {
+        return cell != null ? cell.codePoints().mapToLong(TextChunker::utf8Length).sum() : 0;
+    }
+
+    protected void flush() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        TableChunk chunk = new TableChunk(sheet, rows, rowIndexes);
+        rows = new ArrayList<>();
+        rowIndexes = new ArrayList<>();
+        bytes = 0;
+        boolean more;
+        try {
+            more = consumer.accept(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!more) {
+            throw new StopReadingException();
+        }
+    }
+
+    /**
+     * Rebase the table locations of a finding of a chunk on its file, the sheet is reported as the container name.
+     */
+    public static Finding rebase(Finding finding, TableChunk chunk) {
+        Location.Builder location = finding.getLocation().toBuilder();
+        for (ContentLocation.Builder contentLocation : location.getContentLocationsBuilderList()) {
+            if (!contentLocation.hasRecordLocation() || !contentLocation.getRecordLocation().hasTableLocation()) {
+                continue;
+            }
+            RecordLocation.Builder record = contentLocation.getRecordLocationBuilder();
+            int row = (int) record.getTableLocation().getRowIndex();
+            if (row < chunk.getRowCount()) {
+                record.setTableLocation(TableLocation.newBuilder().setRowIndex(chunk.getRowIndex(row)));
+            }
+            if (chunk.getSheet() != null) {
+                contentLocation.setContainerName(chunk.getSheet());
+            }
+        }
+        return finding.toBuilder().setLocation(location).build();
+    }
+
+    /**
+     * Merge the rebased findings of the chunks, ordered by row.
+     *
+     * @param maxFindings the maximum number of findings to keep, 0 for all
+     */
+    public static List<Finding> merge(List<List<Finding>> findings, int maxFindings) {
+        List<Finding> merged = new ArrayList<>();
+        findings.forEach(merged::addAll);
+        merged.sort(Comparator.comparingLong(TableChunker::row));
+        if (maxFindings > 0 && merged.size() > maxFindings) {
+            return new ArrayList<>(merged.subList(0, maxFindings));
+        }
+        return merged;
+    }
+
+    protected static long row(Finding finding) {
+        return finding.getLocation()
+                      .getContentLocationsList()
+                      .stream()
+                      .filter(ContentLocation::hasRecordLocation)
+                      .mapToLong(c -> c.getRecordLocation().getTableLocation().getRowIndex())
+                      .findFirst()
+                      .orElse(Long.MAX_VALUE);
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.Location;
+import com.google.privacy.dlp.v2.Range;
+
+/**
+ * Split a large text in overlapping windows small enough for a single inspect request, and merge the findings of the
+ * windows back.
+ * <p/>
+ * Windows overlap so that a match crossing a window boundary is still found whole in the next window. Merged findings
+ * have their byte and code point ranges rebased on the original text, and the duplicates found in the overlaps are
+ * removed.
+ *
+ * @since 2025.2
+ */
+public class TextChunker {
+
+    private TextChunker() {
+        // utility class
+    }
+
+    /**
+     * A window of the original text
+     */
+    public static class TextChunk {
+
+        protected final String text;
+
+        protected final long byteOffset;
+
+        protected final long codePointOffset;
+
+        public TextChunk(String text, long byteOffset, long codePointOffset) {
+            this.text = text;
+            this.byteOffset = byteOffset;
+            this.codePointOffset = codePointOffset;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the offset of the window in the UTF-8 bytes of the original text
+         */
+        public long getByteOffset() {
+            return byteOffset;
+        }
+
+        /**
+         * @return the offset of the window in the code points of the original text
+         */
+        public long getCodePointOffset() {
+            return codePointOffset;
+        }
+    }
+
+    /**
+     * @param text the text to split
+     * @param maxBytes the maximum UTF-8 size of a window
+     * @param overlapBytes the size of the overlap between two consecutive windows, lower than maxBytes
+     * @return the windows, in order
+     */
+    public static List<TextChunk> split(String text, int maxBytes, int overlapBytes) {
+        List<TextChunk> chunks = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        long startByte = 0;
+        long startCodePoint = 0;
+        while (start < length) {
+            int end = start;
+            long bytes = 0;
+            long codePoints = 0;
+            while (end < length) {
+                int cp = text.codePointAt(end);
+                int cpBytes = utf8Length(cp);
+                if (bytes + cpBytes > maxBytes && end > start) {
+                    break;
+                }
+                bytes += cpBytes;
+                codePoints++;
+                end += Character.charCount(cp);
+            }
+            chunks.add(new TextChunk(text.substring(start, end), startByte, startCodePoint));
+            if (end >= length) {
+                break;
+            }
+
+            // step back to overlap with the current window, always moving forward
+            int next = end;
+            long backBytes = 0;
+            long backCodePoints = 0;
+            while (backBytes < overlapBytes) {
+                int cp = text.codePointBefore(next);
+                int previous = next - Character.charCount(cp);
+                if (previous <= start) {
+                    break;
+                }
+                next = previous;
+                backBytes += utf8Length(cp);
+                backCodePoints++;
+            }
+            startByte += bytes - backBytes;
+            startCodePoint += codePoints - backCodePoints;
+            start = next;
+        }
+        return chunks;
+    }
+
+    protected static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+
+    /**
+     * Shift the byte and code point ranges of a finding.
+     */
+    public static Finding rebase(Finding finding, long byteOffset, long codePointOffset) {
+        if (byteOffset == 0 && codePointOffset == 0) {
+            return finding;
+        }
+        Location.Builder location = finding.getLocation().toBuilder();
+        if (location.hasByteRange()) {
+            location.setByteRange(shift(location.getByteRange(), byteOffset));
+        }
+        if (location.hasCodepointRange()) {
+            location.setCodepointRange(shift(location.getCodepointRange(), codePointOffset));
+        }
+        return finding.toBuilder().setLocation(location).build();
+    }
+
+    protected static Range shift(Range range, long offset) {
+        return Range.newBuilder().setStart(range.getStart() + offset).setEnd(range.getEnd() + offset).build();
+    }
+
+    /**
+     * Merge the findings of the windows: rebase them on the original text, and keep only the widest of the findings of
+     * the same type whose ranges overlap.
+     *
+     * @param chunks the windows
+     * @param findings the findings of each window, relative to the window
+     * @param maxFindings the maximum number of findings to keep, 0 for all
+     * @return the merged findings, ordered by position
+     */
+    public static List<Finding> merge(List<TextChunk> chunks, List<List<Finding>> findings, int maxFindings) {
+        List<Finding> all = new ArrayList<>();
+        List<Finding> unlocated = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            TextChunk chunk = chunks.get(i);
+            for (Finding finding : findings.get(i)) {
+                if (finding.getLocation().hasByteRange()) {
+                    all.add(rebase(finding, chunk.getByteOffset(), chunk.getCodePointOffset()));
+                } else {
+                    unlocated.add(finding);
+                }
+            }
+        }
+
+        all.sort(Comparator.comparing((Finding f) -> f.getInfoType().getName())
+                           .thenComparingLong(TextChunker::start)
+                           .thenComparing(Comparator.comparingLong(TextChunker::end).reversed()));
+        List<Finding> merged = new ArrayList<>(all.size());
+        Finding last = null;
+        for (Finding finding : all) {
+            if (last != null && last.getInfoType().getName().equals(finding.getInfoType().getName())
+                    && start(finding) < end(last)) {
+                // same match seen by two windows, or truncated by a window boundary
+                if (end(finding) - start(finding) > end(last) - start(last)) {
+                    merged.set(merged.size() - 1, finding);
+                    last = finding;
+                }
+                continue;
+            }
+            merged.add(finding);
+            last = finding;
+        }
+
+        merged.sort(Comparator.comparingLong(TextChunker::start));
+        merged.addAll(unlocated);
+        if (maxFindings > 0 && merged.size() > maxFindings) {
+            return new ArrayList<>(merged.subList(0, maxFindings));
+        }
+        return merged;
+    }
+
+    protected static long start(Finding finding) {
+        return finding.getLocation().getByteRange().getStart();
+    }
+
+    protected static long end(Finding finding) {
+        return finding.getLocation().getByteRange().getEnd();
+    }
+
+}
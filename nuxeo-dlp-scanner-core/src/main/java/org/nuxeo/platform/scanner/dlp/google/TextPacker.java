@@ -0,0 +1,197 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.google;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.privacy.dlp.v2.Finding;
+
+/**
+ * Pack small texts in a single text inspected by one request, and split the findings of the packed text back to the
+ * texts they were found in.
+ * <p/>
+ * Texts are separated by blank lines so that a match cannot span two of them. Split findings have their byte and code
+ * point ranges rebased on their own text; findings crossing a separator are dropped.
+ *
+ * @since 2025.2
+ */
+public class TextPacker {
+
+    public static final String SEPARATOR = "\n\n---\n\n";
+
+    protected static final int SEPARATOR_LENGTH = SEPARATOR.length();
+
+    protected final int maxBytes;
+
+    protected final int maxTexts;
+
+    protected final StringBuilder packed = new StringBuilder();
+
+    protected final List<Segment> segments = new ArrayList<>();
+
+    protected long byteLength;
+
+    protected long codePointLength;
+
+    /**
+     * A text of the pack
+     */
+    protected static class Segment {
+
+        protected final int index;
+
+        protected final String text;
+
+        protected final long byteOffset;
+
+        protected final long byteLength;
+
+        protected final long codePointOffset;
+
+        protected Segment(int index, String text, long byteOffset, long byteLength, long codePointOffset) {
+            this.index = index;
+            this.text = text;
+            this.byteOffset = byteOffset;
+            this.byteLength = byteLength;
+            this.codePointOffset = codePointOffset;
+        }
+    }
+
+    /**
+     * @param maxBytes the maximum UTF-8 size of the packed text
+     * @param maxTexts the maximum number of texts in the pack
+     */
+    public TextPacker(int maxBytes, int maxTexts) {
+        this.maxBytes = maxBytes;
+        this.maxTexts = maxTexts;
+    }
+
+    /**
+     * Add a text to the pack if it fits.
+     *
+     * @param index the index of the text in the caller's list, reported by {@link #getIndexes()}
+     * @return false if the pack is full
+     */
+    public boolean add(int index, String text) {
+        long bytes = text.getBytes(StandardCharsets.UTF_8).length;
+        long separator = segments.isEmpty() ? 0 : SEPARATOR_LENGTH;
+        if (segments.size() >= maxTexts || byteLength + separator + bytes > maxBytes) {
+            return false;
+        }
+        if (separator > 0) {
+            packed.append(SEPARATOR);
+            byteLength += separator;
+            codePointLength += separator;
+        }
+        segments.add(new Segment(index, text, byteLength, bytes, codePointLength));
+        packed.append(text);
+        byteLength += bytes;
+        codePointLength += text.codePointCount(0, text.length());
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public int size() {
+        return segments.size();
+    }
+
+    public long getByteLength() {
+        return byteLength;
+    }
+
+    public String getText() {
+        return packed.toString();
+    }
+
+    /**
+     * @return the indexes of the packed texts, in order
+     */
+    public List<Integer> getIndexes() {
+        List<Integer> indexes = new ArrayList<>(segments.size());
+        segments.forEach(s -> indexes.add(s.index));
+        return indexes;
+    }
+
+    /**
+     * @return the packed texts, in order
+     */
+    public List<String> getTexts() {
+        List<String> texts = new ArrayList<>(segments.size());
+        segments.forEach(s -> texts.add(s.text));
+        return texts;
+    }
+
+    /**
+     * Split the findings of the packed text.
+     *
+     * @param findings the findings of the packed text
+     * @param maxFindings the maximum number of findings to keep per text, 0 for all
+     * @return the findings of each text, in the order of {@link #getIndexes()}, ordered by position
+     */
+    public List<List<Finding>> split(List<Finding> findings, int maxFindings) {
+        List<List<Finding>> split = new ArrayList<>(segments.size());
+        segments.forEach(s -> split.add(new ArrayList<>()));
+        for (Finding finding : findings) {
+            if (!finding.getLocation().hasByteRange()) {
+                continue;
+            }
+            long start = TextChunker.start(finding);
+            long end = TextChunker.end(finding);
+            int i = find(start);
+            Segment segment = segments.get(i);
+            if (start < segment.byteOffset || end > segment.byteOffset + segment.byteLength) {
+                // in or across a separator
+                continue;
+            }
+            split.get(i).add(TextChunker.rebase(finding, -segment.byteOffset, -segment.codePointOffset));
+        }
+        for (int i = 0; i < split.size(); i++) {
+            List<Finding> list = split.get(i);
+            list.sort(Comparator.comparingLong(TextChunker::start));
+            if (maxFindings > 0 && list.size() > maxFindings) {
+                split.set(i, new ArrayList<>(list.subList(0, maxFindings)));
+            }
+        }
+        return split;
+    }
+
+    /**
+     * @return the last segment starting at or before the byte offset
+     */
+    protected int find(long byteOffset) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).byteOffset <= byteOffset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,327 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.listeners;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.model.Property;
+import org.nuxeo.ecm.core.utils.BlobsExtractor;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Results of the last scan of each blob of a document, stored by xpath in {@code dlp:blobs}.
+ * <p/>
+ * The findings, sensitive data flag and status of the document are computed from the results of the blobs it still
+ * holds, so that the scan of one blob is merged with the results of the others instead of replacing them.
+ *
+ * @since 2025.2
+ */
+public class DLPBlobResults {
+
+    public static final String XPATH = "xpath";
+
+    public static final String DIGEST = "digest";
+
+    public static final String FINGERPRINT = "fingerprint";
+
+    public static final String SCAN_DATE = "scanDate";
+
+    public static final String STATUS = "status";
+
+    public static final String SENSITIVE_DATA = "sensitiveData";
+
+    public static final String FINDINGS = "findings";
+
+    protected final DocumentModel doc;
+
+    protected final DataLossPreventionScanner service;
+
+    // configuration the blobs are scanned with
+    protected final String fingerprint;
+
+    // by xpath, in the order of the document
+    protected final Map<String, Map<String, Serializable>> results = new LinkedHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public DLPBlobResults(DocumentModel doc) {
+        this.doc = doc;
+        service = Framework.getService(DataLossPreventionScanner.class);
+        fingerprint = service != null ? service.getConfigFingerprint() : null;
+        if (!doc.hasFacet(DLPScanConstants.DLP_FACET)) {
+            return;
+        }
+        List<Map<String, Serializable>> entries = (List<Map<String, Serializable>>) doc.getPropertyValue(
+                DLPScanConstants.DLP_BLOBS_PROP);
+        if (entries != null) {
+            for (Map<String, Serializable> entry : entries) {
+                results.put((String) entry.get(XPATH), new HashMap<>(entry));
+            }
+        }
+    }
+
+    /**
+     * @return the blobs of the document by xpath, without the empty blob properties
+     */
+    public static Map<String, Blob> getBlobs(DocumentModel doc) {
+        Map<String, Blob> blobs = new LinkedHashMap<>();
+        for (Property prop : new BlobsExtractor().getBlobsProperties(doc)) {
+            if (prop.getValue() != null) {
+                blobs.put(prop.getXPath(), (Blob) prop.getValue());
+            }
+        }
+        return blobs;
+    }
+
+    /**
+     * @return the result of the last scan of the blob, or null
+     */
+    public Map<String, Serializable> get(String xpath) {
+        return results.get(xpath);
+    }
+
+    /**
+     * Record the result of the scan of a blob with the current configuration, or with the configuration of the
+     * fallback provider that produced it, so that it gets rescanned.
+     *
+     * @param digest the digest of the blob that was scanned
+     */
+    public void put(String xpath, String digest, ScanResult result) {
+        String fallback = result.getFallbackFingerprint();
+        put(xpath, digest, fallback != null ? fallback : fingerprint, result);
+    }
+
+    /**
+     * Record the result of the scan of a blob.
+     *
+     * @param digest the digest of the blob that was scanned
+     * @param fingerprint the fingerprint of the configuration of the scan
+     */
+    public void put(String xpath, String digest, String fingerprint, ScanResult result) {
+        ArrayList<Map<String, Serializable>> findings = new ArrayList<>();
+        if (result.getFindings() != null) {
+            for (ScanFinding f : result.getFindings()) {
+                HashMap<String, Serializable> fmap = new HashMap<>();
+                fmap.put("info", f.getInfo());
+                fmap.put("score", f.getScore());
+                fmap.put("type", f.getType());
+                fmap.put("locationJson", f.getLocationJsonStr());
+                fmap.put("sensitive", f.hasSensitiveData());
+                fmap.put(XPATH, xpath);
+                findings.add(fmap);
+            }
+        }
+        Map<String, Serializable> entry = new HashMap<>();
+        entry.put(XPATH, xpath);
+        entry.put(DIGEST, digest);
+        entry.put(FINGERPRINT, fingerprint);
+        entry.put(SCAN_DATE, Calendar.getInstance());
+        entry.put(STATUS, result.isError() ? DLPScanConstants.DLP_STATUS_FAILED : DLPScanConstants.DLP_STATUS_DONE);
+        entry.put(SENSITIVE_DATA, result.hasSensitiveData());
+        entry.put(FINDINGS, findings);
+        results.put(xpath, entry);
+    }
+
+    /**
+     * @return true if the last scan of the blob succeeded with the current configuration and the blob did not change
+     *         since
+     */
+    public boolean isValid(String xpath, Blob blob) {
+        Map<String, Serializable> entry = results.get(xpath);
+        return entry != null && blob != null && blob.getDigest() != null
+                && DLPScanConstants.DLP_STATUS_DONE.equals(entry.get(STATUS))
+                && blob.getDigest().equals(entry.get(DIGEST)) && Objects.equals(fingerprint, entry.get(FINGERPRINT));
+    }
+
+    /**
+     * @return true if the document has no result by blob, as when it was scanned before they were recorded: its
+     *         findings cannot be merged with the results of a single blob, all its blobs must be scanned
+     */
+    public boolean isLegacy() {
+        return results.isEmpty();
+    }
+
+    /**
+     * @return the xpaths of the blobs of the document without a valid result: never scanned, changed,
+     *         failed or scanned with another configuration
+     */
+    public List<String> getPathsToScan() {
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<String, Blob> blob : getBlobs(doc).entrySet()) {
+            if (!isValid(blob.getKey(), blob.getValue())) {
+                paths.add(blob.getKey());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Drop the results of the blobs removed from the document or changed since their scan, and write the results
+     * left along with their merged findings and sensitive data flag to the document.
+     */
+    public void apply() {
+        Map<String, Blob> blobs = getBlobs(doc);
+        results.entrySet().removeIf(e -> !blobs.containsKey(e.getKey())
+                || !Objects.equals(blobs.get(e.getKey()).getDigest(), e.getValue().get(DIGEST)));
+
+        ArrayList<Map<String, Serializable>> entries = new ArrayList<>();
+        ArrayList<Map<String, Serializable>> findings = new ArrayList<>();
+        boolean sensitive = false;
+        for (String xpath : blobs.keySet()) {
+            Map<String, Serializable> entry = results.get(xpath);
+            if (entry == null) {
+                continue;
+            }
+            entries.add(entry);
+            @SuppressWarnings("unchecked")
+            List<Map<String, Serializable>> blobFindings = (List<Map<String, Serializable>>) entry.get(FINDINGS);
+            if (blobFindings != null) {
+                findings.addAll(blobFindings);
+            }
+            sensitive |= Boolean.TRUE.equals(entry.get(SENSITIVE_DATA));
+        }
+        doc.setPropertyValue(DLPScanConstants.DLP_BLOBS_PROP, entries);
+        doc.setPropertyValue(DLPScanConstants.DLP_FINDINGS, findings);
+        doc.setPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA, sensitive);
+
+        // stamp the configuration once all the blobs have a result made with the current one
+        Set<Serializable> fingerprints = new HashSet<>();
+        entries.forEach(e -> fingerprints.add(e.get(FINGERPRINT)));
+        boolean complete = entries.size() == blobs.size();
+        if (complete && (fingerprints.isEmpty() || fingerprints.equals(Collections.singleton(fingerprint)))) {
+            doc.setPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP, fingerprint);
+            doc.setPropertyValue(DLPScanConstants.DLP_INFOTYPES_PROP, getInfoTypes().toArray(new String[0]));
+        } else if (!complete || fingerprints.size() > 1) {
+            doc.setPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP, null);
+            doc.setPropertyValue(DLPScanConstants.DLP_INFOTYPES_PROP, null);
+        }
+    }
+
+    /**
+     * @return true if the document was stamped with the current configuration
+     */
+    public boolean isCurrent() {
+        return fingerprint != null && fingerprint.equals(doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP));
+    }
+
+    /**
+     * Restrict the results to the current info types without scanning the blobs again. Only possible when the
+     * document was scanned with a superset of these info types and otherwise the same configuration, the findings of
+     * the info types no longer requested are dropped. Not possible either when a blob reached the maximum number of
+     * findings: the dropped findings may have hidden findings of the info types still requested.
+     *
+     * @return true if the results were restricted, false if the blobs must be scanned again
+     */
+    @SuppressWarnings("unchecked")
+    public boolean narrow() {
+        String previous = (String) doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP);
+        String[] previousTypes = (String[]) doc.getPropertyValue(DLPScanConstants.DLP_INFOTYPES_PROP);
+        List<String> types = getInfoTypes();
+        if (fingerprint == null || previous == null || previousTypes == null || types.isEmpty()
+                || !Arrays.asList(previousTypes).containsAll(types)
+                || !previous.equals(service.getConfigFingerprint(Arrays.asList(previousTypes)))) {
+            return false;
+        }
+        int maxFindings = getMaxFindings();
+        Map<String, Blob> blobs = getBlobs(doc);
+        for (Map.Entry<String, Blob> blob : blobs.entrySet()) {
+            Map<String, Serializable> entry = results.get(blob.getKey());
+            if (entry == null || !DLPScanConstants.DLP_STATUS_DONE.equals(entry.get(STATUS))
+                    || !previous.equals(entry.get(FINGERPRINT))
+                    || !Objects.equals(blob.getValue().getDigest(), entry.get(DIGEST))) {
+                return false;
+            }
+            // findings stored without their sensitive flag
+            List<Map<String, Serializable>> findings = (List<Map<String, Serializable>>) entry.get(FINDINGS);
+            if (findings != null && findings.stream().anyMatch(f -> f.get("sensitive") == null)) {
+                return false;
+            }
+            // capped, the findings of the info types still requested may be incomplete
+            if (findings != null && maxFindings > 0 && findings.size() >= maxFindings) {
+                return false;
+            }
+        }
+        for (String xpath : blobs.keySet()) {
+            Map<String, Serializable> entry = results.get(xpath);
+            ArrayList<Map<String, Serializable>> kept = new ArrayList<>();
+            List<Map<String, Serializable>> findings = (List<Map<String, Serializable>>) entry.get(FINDINGS);
+            if (findings != null) {
+                findings.stream().filter(f -> types.contains(f.get("type"))).forEach(kept::add);
+            }
+            entry.put(FINDINGS, kept);
+            entry.put(SENSITIVE_DATA, kept.stream().anyMatch(f -> Boolean.TRUE.equals(f.get("sensitive"))));
+            entry.put(FINGERPRINT, fingerprint);
+        }
+        apply();
+        return true;
+    }
+
+    /**
+     * @return the info types of the current configuration, empty if unknown
+     */
+    protected List<String> getInfoTypes() {
+        ScanProvider provider = getProvider();
+        List<String> types = provider != null ? provider.getDefaultFeatures() : null;
+        return types != null ? types : Collections.emptyList();
+    }
+
+    /**
+     * @return the maximum number of findings of a blob with the current configuration, 0 if not capped
+     */
+    protected int getMaxFindings() {
+        ScanProvider provider = getProvider();
+        return provider != null ? provider.getMaxFindings() : 0;
+    }
+
+    protected ScanProvider getProvider() {
+        return service != null ? service.getProvider(service.getDefaultProvider()) : null;
+    }
+
+    /**
+     * @return failed if the scan of a blob failed, pending while some blobs have no result, done otherwise, as of the
+     *         last {@link #apply()}
+     */
+    public String getStatus() {
+        if (results.values().stream().anyMatch(e -> DLPScanConstants.DLP_STATUS_FAILED.equals(e.get(STATUS)))) {
+            return DLPScanConstants.DLP_STATUS_FAILED;
+        }
+        if (!results.keySet().containsAll(getBlobs(doc).keySet())) {
+            return DLPScanConstants.DLP_STATUS_PENDING;
+        }
+        return DLPScanConstants.DLP_STATUS_DONE;
+    }
+
+}
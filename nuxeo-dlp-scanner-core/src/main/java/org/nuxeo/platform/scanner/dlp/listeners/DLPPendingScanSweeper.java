@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.listeners;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentNotFoundException;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.ScrollResult;
+import org.nuxeo.ecm.core.event.Event;
+import org.nuxeo.ecm.core.event.EventListener;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Periodically re-submit the documents left in pending status for longer than a threshold, whose scan event was lost
+ * (node crash, dropped bundle, error before the scan). The documents are found with a scroll, re-submitted in batches
+ * of one transaction each, at a bounded rate and up to a maximum per run, on the dlpRetry work queue so that they do
+ * not compete with the fresh uploads.
+ *
+ * @since 2025.2
+ */
+public class DLPPendingScanSweeper implements EventListener {
+
+    protected static final Logger log = LogManager.getLogger(DLPPendingScanSweeper.class);
+
+    protected static final String QUERY = "SELECT ecm:uuid FROM Document WHERE ecm:mixinType = '"
+            + DLPScanConstants.DLP_FACET + "' AND " + DLPScanConstants.DLP_STATUS_PROP + " = '"
+            + DLPScanConstants.DLP_STATUS_PENDING + "' AND " + DLPScanConstants.DLP_PENDING_DATE_PROP
+            + " < TIMESTAMP '%s' AND ecm:isVersion = 0 AND ecm:isProxy = 0 AND ecm:isTrashed = 0";
+
+    // seconds
+    protected static final int SCROLL_KEEP_ALIVE = 300;
+
+    protected final ScanMetrics metrics = new ScanMetrics();
+
+    protected final Counter runs = metrics.counter("sweeper", "runs");
+
+    protected final Counter found = metrics.counter("sweeper", "found");
+
+    protected final Counter resubmitted = metrics.counter("sweeper", "resubmitted");
+
+    @Override
+    public void handleEvent(Event event) {
+        if (!DLPScanConstants.DLP_SWEEP_PENDING_SCANS_EVENT.equals(event.getName())) {
+            return;
+        }
+        if (!Boolean.parseBoolean(Framework.getProperty(DLPScanConstants.DLP_SCAN_ENABLED, "true"))
+                || !Boolean.parseBoolean(Framework.getProperty(DLPScanConstants.DLP_SWEEPER_ENABLED, "true"))) {
+            return;
+        }
+        long threshold = TimeUnit.SECONDS.toMillis(Long.parseLong(Framework.getProperty(
+                DLPScanConstants.DLP_SWEEPER_THRESHOLD, DLPScanConstants.DEFAULT_SWEEPER_THRESHOLD)));
+        int batchSize = Integer.parseInt(Framework.getProperty(DLPScanConstants.DLP_SWEEPER_BATCH_SIZE,
+                DLPScanConstants.DEFAULT_SWEEPER_BATCH_SIZE));
+        int maxDocuments = Integer.parseInt(Framework.getProperty(DLPScanConstants.DLP_SWEEPER_MAX_DOCUMENTS,
+                DLPScanConstants.DEFAULT_SWEEPER_MAX_DOCUMENTS));
+        double rate = Double.parseDouble(
+                Framework.getProperty(DLPScanConstants.DLP_SWEEPER_RATE, DLPScanConstants.DEFAULT_SWEEPER_RATE));
+        RateLimiter rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+
+        runs.inc();
+        Date before = new Date(System.currentTimeMillis() - threshold);
+        for (String repositoryName : Framework.getService(RepositoryService.class).getRepositoryNames()) {
+            CoreInstance.doPrivileged(repositoryName, (CoreSession session) -> {
+                sweep(session, before, batchSize, maxDocuments, rateLimiter);
+            });
+        }
+    }
+
+    protected void sweep(CoreSession session, Date before, int batchSize, int maxDocuments, RateLimiter rateLimiter) {
+        String query = String.format(QUERY, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(before));
+        int count = 0;
+        int submitted = 0;
+        ScrollResult<String> scroll = session.scroll(query, batchSize, SCROLL_KEEP_ALIVE);
+        while (scroll.hasResults() && count < maxDocuments) {
+            List<String> ids = scroll.getResults();
+            if (ids.size() > maxDocuments - count) {
+                ids = ids.subList(0, maxDocuments - count);
+            }
+            found.inc(ids.size());
+            for (String id : ids) {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+                if (resubmit(session, id)) {
+                    resubmitted.inc();
+                    submitted++;
+                }
+            }
+            count += ids.size();
+            // fire the events of the batch
+            if (TransactionHelper.isTransactionActiveOrMarkedRollback()) {
+                TransactionHelper.commitOrRollbackTransaction();
+                TransactionHelper.startTransaction();
+            }
+            scroll = session.scroll(scroll.getScrollId());
+        }
+        if (submitted > 0) {
+            log.info("Re-submitted {} of the {} documents left pending in repository {}", submitted, count,
+                    session.getRepositoryName());
+        }
+    }
+
+    /**
+     * @return true if the scan of the document was submitted again
+     */
+    protected boolean resubmit(CoreSession session, String id) {
+        DocumentModel doc;
+        try {
+            doc = session.getDocument(new IdRef(id));
+        } catch (DocumentNotFoundException e) {
+            return false;
+        }
+        // the scan may have completed since the query
+        if (!DLPScanConstants.DLP_STATUS_PENDING.equals(doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP))) {
+            return false;
+        }
+        List<String> paths = getBlobsXPath(doc);
+        if (paths.isEmpty()) {
+            new DLPBlobResults(doc).apply();
+            doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_DONE);
+        } else {
+            // not swept again before the threshold
+            doc.setPropertyValue(DLPScanConstants.DLP_PENDING_DATE_PROP, new Date());
+        }
+        doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+        doc = session.saveDocument(doc);
+        if (paths.isEmpty()) {
+            return false;
+        }
+        DocumentEventContext docCtx = new DocumentEventContext(session, session.getPrincipal(), doc);
+        Framework.getService(EventService.class)
+                 .fireEvent(new DLPScanEventContext(docCtx, paths).setResubmitted().newDLPRetryScanEvent());
+        return true;
+    }
+
+    /**
+     * @return the xpaths of the blobs without a valid result, the others are not scanned again
+     */
+    protected List<String> getBlobsXPath(DocumentModel doc) {
+        return new DLPBlobResults(doc).getPathsToScan();
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.listeners;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentNotFoundException;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.ScrollResult;
+import org.nuxeo.ecm.core.event.Event;
+import org.nuxeo.ecm.core.event.EventBundle;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.PostCommitEventListener;
+import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Scan again the documents scanned with another configuration than the current one, after a change of the info types,
+ * likelihood or sensitivity of the default provider. The documents are found by their {@code dlp:fingerprint}, those
+ * scanned with a superset of the current info types and otherwise the same configuration only have their findings
+ * restricted, the others are re-submitted on the dlpRetry work queue in batches, at a bounded rate.
+ *
+ * @since 2025.2
+ */
+public class DLPRescanListener implements PostCommitEventListener {
+
+    protected static final Logger log = LogManager.getLogger(DLPRescanListener.class);
+
+    protected static final String QUERY = "SELECT ecm:uuid FROM Document WHERE ecm:mixinType = '"
+            + DLPScanConstants.DLP_FACET + "' AND " + DLPScanConstants.DLP_STATUS_PROP + " = '"
+            + DLPScanConstants.DLP_STATUS_DONE + "' AND (" + DLPScanConstants.DLP_FINGERPRINT_PROP + " IS NULL OR "
+            + DLPScanConstants.DLP_FINGERPRINT_PROP
+            + " <> '%s') AND ecm:isVersion = 0 AND ecm:isProxy = 0 AND ecm:isTrashed = 0";
+
+    // seconds
+    protected static final int SCROLL_KEEP_ALIVE = 300;
+
+    protected final ScanMetrics metrics = new ScanMetrics();
+
+    protected final Counter found = metrics.counter("rescan", "found");
+
+    protected final Counter narrowed = metrics.counter("rescan", "narrowed");
+
+    protected final Counter resubmitted = metrics.counter("rescan", "resubmitted");
+
+    @Override
+    public void handleEvent(EventBundle events) {
+        for (Event event : events) {
+            if (DLPScanConstants.DLP_RESCAN_OUTDATED_EVENT.equals(event.getName())) {
+                rescan();
+                return;
+            }
+        }
+    }
+
+    protected void rescan() {
+        if (!Boolean.parseBoolean(Framework.getProperty(DLPScanConstants.DLP_SCAN_ENABLED, "true"))) {
+            return;
+        }
+        String fingerprint = Framework.getService(DataLossPreventionScanner.class).getConfigFingerprint();
+        if (fingerprint == null) {
+            log.warn("The default provider has no configuration fingerprint, documents cannot be rescanned");
+            return;
+        }
+        int batchSize = Integer.parseInt(Framework.getProperty(DLPScanConstants.DLP_RESCAN_BATCH_SIZE,
+                DLPScanConstants.DEFAULT_RESCAN_BATCH_SIZE));
+        double rate = Double.parseDouble(
+                Framework.getProperty(DLPScanConstants.DLP_RESCAN_RATE, DLPScanConstants.DEFAULT_RESCAN_RATE));
+        RateLimiter rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+
+        for (String repositoryName : Framework.getService(RepositoryService.class).getRepositoryNames()) {
+            CoreInstance.doPrivileged(repositoryName, (CoreSession session) -> {
+                rescan(session, fingerprint, batchSize, rateLimiter);
+            });
+        }
+    }
+
+    protected void rescan(CoreSession session, String fingerprint, int batchSize, RateLimiter rateLimiter) {
+        int count = 0;
+        ScrollResult<String> scroll = session.scroll(String.format(QUERY, fingerprint), batchSize,
+                SCROLL_KEEP_ALIVE);
+        while (scroll.hasResults()) {
+            List<String> ids = scroll.getResults();
+            found.inc(ids.size());
+            for (String id : ids) {
+                if (rescan(session, id) && rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+            }
+            count += ids.size();
+            // fire the events of the batch
+            if (TransactionHelper.isTransactionActiveOrMarkedRollback()) {
+                TransactionHelper.commitOrRollbackTransaction();
+                TransactionHelper.startTransaction();
+            }
+            scroll = session.scroll(scroll.getScrollId());
+        }
+        if (count > 0) {
+            log.info("Processed {} documents scanned with another configuration in repository {}", count,
+                    session.getRepositoryName());
+        }
+    }
+
+    /**
+     * @return true if the scan of the document was submitted again
+     */
+    protected boolean rescan(CoreSession session, String id) {
+        DocumentModel doc;
+        try {
+            doc = session.getDocument(new IdRef(id));
+        } catch (DocumentNotFoundException e) {
+            return false;
+        }
+        DLPBlobResults results = new DLPBlobResults(doc);
+        // changed since the query
+        if (results.isCurrent()
+                || !DLPScanConstants.DLP_STATUS_DONE.equals(doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP))) {
+            return false;
+        }
+        List<String> paths = null;
+        if (results.narrow()) {
+            narrowed.inc();
+        } else {
+            paths = results.getPathsToScan();
+            if (paths.isEmpty()) {
+                results.apply();
+            } else {
+                // pending until the scan completes, so that the next run does not submit it again
+                doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_PENDING);
+                doc.setPropertyValue(DLPScanConstants.DLP_PENDING_DATE_PROP, new Date());
+            }
+        }
+        doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+        doc = session.saveDocument(doc);
+        if (paths == null || paths.isEmpty()) {
+            return false;
+        }
+        DocumentEventContext docCtx = new DocumentEventContext(session, session.getPrincipal(), doc);
+        Framework.getService(EventService.class)
+                 .fireEvent(new DLPScanEventContext(docCtx, paths).setResubmitted().newDLPRetryScanEvent());
+        resubmitted.inc();
+        return true;
+    }
+
+}
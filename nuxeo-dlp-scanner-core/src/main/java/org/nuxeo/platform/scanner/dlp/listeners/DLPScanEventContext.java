@@ -40,6 +40,9 @@ public class DLPScanEventContext extends DocumentEventContext {
 
     public static final String DLP_SCAN_BLOB_XPATHS = "blobXPaths";
 
+    // scan submitted again long after the content changed, see #isResubmitted()
+    public static final String DLP_SCAN_RESUBMITTED = "resubmitted";
+
     public static final String MARKER_KEY = "contextType";
 
     public static final String MARKER_VALUE = "SizeUpdateEventContext";
@@ -69,8 +72,33 @@ public class DLPScanEventContext extends DocumentEventContext {
         return (List<String>) getProperty(DLP_SCAN_BLOB_XPATHS);
     }
 
+    /**
+     * Mark a scan submitted again by the retries or the sweeper, once the repository had the time to extract the
+     * fulltext of the new content.
+     *
+     * @since 2025.2
+     */
+    public DLPScanEventContext setResubmitted() {
+        setProperty(DLP_SCAN_RESUBMITTED, Boolean.TRUE);
+        return this;
+    }
+
+    /**
+     * @since 2025.2
+     */
+    public boolean isResubmitted() {
+        return Boolean.TRUE.equals(getProperty(DLP_SCAN_RESUBMITTED));
+    }
+
     public Event newDLPScanEvent() {
         return newEvent(DLPScanConstants.DLP_SCAN_NEEDED_EVENT);
     }
 
+    /**
+     * @since 2025.2
+     */
+    public Event newDLPRetryScanEvent() {
+        return newEvent(DLPScanConstants.DLP_RETRY_SCAN_NEEDED_EVENT);
+    }
+
 }
@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.listeners;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.event.Event;
+import org.nuxeo.ecm.core.event.EventListener;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Periodically re-enqueue the documents left in failed status whose next retry is due. The scans go through the
+ * {@code dlpRetryProcessor} listener, whose work queue runs beside the one of the fresh uploads with fewer threads.
+ *
+ * @since 2025.2
+ */
+public class DLPScanRetryListener implements EventListener {
+
+    protected static final Logger log = LogManager.getLogger(DLPScanRetryListener.class);
+
+    protected static final String QUERY = "SELECT * FROM Document WHERE ecm:mixinType = '" + DLPScanConstants.DLP_FACET
+            + "' AND " + DLPScanConstants.DLP_STATUS_PROP + " = '" + DLPScanConstants.DLP_STATUS_FAILED + "' AND "
+            + DLPScanConstants.DLP_NEXT_RETRY_PROP + " <= TIMESTAMP '%s' AND ecm:isVersion = 0 AND ecm:isProxy = 0"
+            + " AND ecm:isTrashed = 0 ORDER BY " + DLPScanConstants.DLP_NEXT_RETRY_PROP;
+
+    @Override
+    public void handleEvent(Event event) {
+        if (!DLPScanConstants.DLP_RETRY_FAILED_SCANS_EVENT.equals(event.getName())) {
+            return;
+        }
+        if (!Boolean.parseBoolean(Framework.getProperty(DLPScanConstants.DLP_SCAN_ENABLED, "true"))
+                || !DLPScanRetryPolicy.fromConfiguration().isEnabled()) {
+            return;
+        }
+        int batchSize = Integer.parseInt(Framework.getProperty(DLPScanConstants.DLP_RETRY_BATCH_SIZE,
+                DLPScanConstants.DEFAULT_RETRY_BATCH_SIZE));
+        for (String repositoryName : Framework.getService(RepositoryService.class).getRepositoryNames()) {
+            CoreInstance.doPrivileged(repositoryName, (CoreSession session) -> {
+                retryFailedScans(session, batchSize);
+            });
+        }
+    }
+
+    protected void retryFailedScans(CoreSession session, int batchSize) {
+        String now = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        DocumentModelList docs = session.query(String.format(QUERY, now), batchSize);
+        if (docs.isEmpty()) {
+            return;
+        }
+        log.debug("Retrying the scan of {} documents in repository {}", docs.size(), session.getRepositoryName());
+        EventService eventService = Framework.getService(EventService.class);
+        for (DocumentModel doc : docs) {
+            List<String> paths = getBlobsXPath(doc);
+            if (paths.isEmpty()) {
+                // the blobs were removed or scanned since, nothing left to scan
+                new DLPBlobResults(doc).apply();
+                doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_DONE);
+                DLPScanRetryPolicy.reset(doc);
+            } else {
+                // pending until the retry completes, so that the next run does not enqueue it again
+                doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_PENDING);
+                doc.setPropertyValue(DLPScanConstants.DLP_PENDING_DATE_PROP, new Date());
+            }
+            doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+            doc = session.saveDocument(doc);
+            if (!paths.isEmpty()) {
+                DocumentEventContext docCtx = new DocumentEventContext(session, session.getPrincipal(), doc);
+                eventService.fireEvent(new DLPScanEventContext(docCtx, paths).setResubmitted().newDLPRetryScanEvent());
+            }
+        }
+    }
+
+    /**
+     * @return the xpaths of the blobs without a valid result, the others are not scanned again
+     */
+    protected List<String> getBlobsXPath(DocumentModel doc) {
+        return new DLPBlobResults(doc).getPathsToScan();
+    }
+
+}
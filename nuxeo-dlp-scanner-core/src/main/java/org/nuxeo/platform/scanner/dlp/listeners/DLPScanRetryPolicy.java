@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.listeners;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Exponential backoff of the scans of the documents left in failed status: the n-th retry is scheduled after
+ * {@code delay * 2^(n-1)}, capped to {@code maxDelay}, until {@code maxAttempts} retries have been made.
+ *
+ * @since 2025.2
+ */
+public class DLPScanRetryPolicy {
+
+    protected final boolean enabled;
+
+    protected final long maxAttempts;
+
+    protected final long delayMillis;
+
+    protected final long maxDelayMillis;
+
+    public DLPScanRetryPolicy(boolean enabled, long maxAttempts, long delayMillis, long maxDelayMillis) {
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.delayMillis = Math.max(0, delayMillis);
+        this.maxDelayMillis = Math.max(this.delayMillis, maxDelayMillis);
+    }
+
+    public static DLPScanRetryPolicy fromConfiguration() {
+        return new DLPScanRetryPolicy(
+                Boolean.parseBoolean(Framework.getProperty(DLPScanConstants.DLP_RETRY_ENABLED, "true")),
+                Long.parseLong(Framework.getProperty(DLPScanConstants.DLP_RETRY_MAX_ATTEMPTS,
+                        DLPScanConstants.DEFAULT_RETRY_MAX_ATTEMPTS)),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(
+                        Framework.getProperty(DLPScanConstants.DLP_RETRY_DELAY, DLPScanConstants.DEFAULT_RETRY_DELAY))),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(Framework.getProperty(DLPScanConstants.DLP_RETRY_MAX_DELAY,
+                        DLPScanConstants.DEFAULT_RETRY_MAX_DELAY))));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param attempt the number of the retry, starting at 1
+     * @return the delay in milliseconds before the retry, or -1 if the retries are exhausted
+     */
+    public long getDelay(long attempt) {
+        if (!enabled || attempt < 1 || attempt > maxAttempts) {
+            return -1;
+        }
+        long delay = delayMillis;
+        for (long i = 1; i < attempt && delay < maxDelayMillis; i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, maxDelayMillis);
+    }
+
+    /**
+     * Record a failed scan of the document: schedule its next retry, or clear it once the retries are exhausted.
+     *
+     * @return true if a retry was scheduled
+     */
+    public boolean onFailure(DocumentModel doc) {
+        Long retries = (Long) doc.getPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP);
+        long attempt = retries == null ? 1 : retries + 1;
+        long delay = getDelay(attempt);
+        if (delay < 0) {
+            doc.setPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP, null);
+            return false;
+        }
+        Calendar next = Calendar.getInstance();
+        next.setTimeInMillis(System.currentTimeMillis() + delay);
+        doc.setPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP, attempt);
+        doc.setPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP, next);
+        return true;
+    }
+
+    /**
+     * Reset the retries of the document, after a successful scan or a change of its content.
+     */
+    public static void reset(DocumentModel doc) {
+        doc.setPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP, null);
+        doc.setPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP, null);
+    }
+
+}
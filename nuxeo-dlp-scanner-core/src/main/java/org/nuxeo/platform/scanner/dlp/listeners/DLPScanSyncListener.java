@@ -21,10 +21,12 @@
 package org.nuxeo.platform.scanner.dlp.listeners;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.event.DocumentEventTypes;
 import org.nuxeo.ecm.core.api.model.Property;
@@ -34,8 +36,11 @@ import org.nuxeo.ecm.core.event.EventService;
 import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
 import org.nuxeo.ecm.core.utils.BlobsExtractor;
 import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
 import org.nuxeo.runtime.api.Framework;
 
+import io.dropwizard.metrics5.Counter;
+
 /**
  * Synchronous listener that intercept Document create/update events.
  * <p/>
@@ -51,6 +56,8 @@ public class DLPScanSyncListener implements EventListener {
 
     protected static final Logger log = LogManager.getLogger(DLPScanSyncListener.class);
 
+    protected final Counter unchanged = new ScanMetrics().counter("scan", "unchanged");
+
     Boolean enabled;
 
     private boolean isEnabled() {
@@ -86,9 +93,11 @@ public class DLPScanSyncListener implements EventListener {
                 // process Blobs now that document is created
                 propertiesPath = getBlobsXPath(targetDoc, false);
             } else if (DocumentEventTypes.BEFORE_DOC_UPDATE.equals(event.getName())) {
-                // process Blobs before update
+                // process Blobs before update, the document is left as is when none of them changed
                 propertiesPath = getBlobsXPath(targetDoc, true);
-                markDocumentForScaning(targetDoc);
+                if (!propertiesPath.isEmpty()) {
+                    markDocumentForScaning(targetDoc);
+                }
             }
 
             if (propertiesPath != null && propertiesPath.size() > 0) {
@@ -105,16 +114,37 @@ public class DLPScanSyncListener implements EventListener {
             doc.addFacet(DLPScanConstants.DLP_FACET);
         }
         doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_PENDING);
+        doc.setPropertyValue(DLPScanConstants.DLP_PENDING_DATE_PROP, new Date());
+        // new content, previous failures do not count
+        DLPScanRetryPolicy.reset(doc);
     }
 
+    /**
+     * @param onlyChangedBlob only the blobs set since the document was loaded, skipping the ones whose content was
+     *            already scanned with the current configuration, all of them if one changed on a document without
+     *            results by blob
+     */
     protected List<String> getBlobsXPath(DocumentModel doc, boolean onlyChangedBlob) {
         List<String> propertiesPath = new ArrayList<String>();
         BlobsExtractor extractor = new BlobsExtractor();
         List<Property> blobProperties = extractor.getBlobsProperties(doc);
+        DLPBlobResults results = null;
         for (Property prop : blobProperties) {
             if (onlyChangedBlob) {
                 if (prop.isDirty()) {
-                    propertiesPath.add(prop.getXPath());
+                    if (results == null) {
+                        results = new DLPBlobResults(doc);
+                        if (results.isLegacy()) {
+                            // no result by blob to merge with, all the blobs are scanned
+                            return getBlobsXPath(doc, false);
+                        }
+                    }
+                    if (results.isValid(prop.getXPath(), (Blob) prop.getValue())) {
+                        // same content set again
+                        unchanged.inc();
+                    } else {
+                        propertiesPath.add(prop.getXPath());
+                    }
                 }
             } else {
                 propertiesPath.add(prop.getXPath());
@@ -20,27 +20,32 @@
 
 package org.nuxeo.platform.scanner.dlp.listeners;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
-import org.nuxeo.ecm.core.api.model.Property;
+import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.event.Event;
 import org.nuxeo.ecm.core.event.EventBundle;
 import org.nuxeo.ecm.core.event.EventService;
 import org.nuxeo.ecm.core.event.impl.AbstractLongRunningListener;
 import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.core.utils.BlobsExtractor;
 import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
 import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
-import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
 import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
 import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.platform.scanner.dlp.service.TextSource;
 import org.nuxeo.runtime.api.Framework;
 
 /**
@@ -60,18 +65,27 @@ public class DLPScannerProcessor extends AbstractLongRunningListener {
 
     public static final Logger log = LogManager.getLogger(DLPScannerProcessor.class);
 
+    // digests of the scanned blobs by xpath, under the key of their document
+    protected static final String DIGESTS_PREFIX = "digests:";
+
     @Override
     public boolean acceptEvent(Event event) {
-        if (DLPScanConstants.DLP_SCAN_NEEDED_EVENT.equals(event.getName())) {
-            return true;
-        }
-        return false;
+        return isScanEvent(event);
+    }
+
+    /**
+     * Both the fresh scans and the retries of the failed ones go through this processor, registered as two listeners
+     * so that they run on different work queues.
+     */
+    protected boolean isScanEvent(Event event) {
+        return DLPScanConstants.DLP_SCAN_NEEDED_EVENT.equals(event.getName())
+                || DLPScanConstants.DLP_RETRY_SCAN_NEEDED_EVENT.equals(event.getName());
     }
 
     @Override
     protected boolean handleEventPreprocessing(EventBundle events, Map<String, Object> data) {
         for (Event event : events) {
-            if (DLPScanConstants.DLP_SCAN_NEEDED_EVENT.equals(event.getName())) {
+            if (isScanEvent(event)) {
                 DLPScanEventContext vContext = DLPScanEventContext.unwrap((DocumentEventContext) event.getContext());
                 DocumentModel doc = vContext.getSourceDocument();
 
@@ -87,6 +101,10 @@ public class DLPScannerProcessor extends AbstractLongRunningListener {
                 for (String path : vContext.getBlobPaths()) {
                     blobs.put(path, (Blob) doc.getPropertyValue(path));
                 }
+                if (vContext.isResubmitted() && Boolean.parseBoolean(
+                        Framework.getProperty(DLPScanConstants.DLP_TEXT_FULLTEXT_ENABLED, "false"))) {
+                    registerFulltext(doc, blobs);
+                }
                 data.put(key, blobs);
             }
         }
@@ -97,27 +115,99 @@ public class DLPScannerProcessor extends AbstractLongRunningListener {
         }
     }
 
+    /**
+     * Register the fulltext extracted by the repository as the text of the blob of a single blob document, so that
+     * the provider does not convert it again. The repository does not record the content its fulltext was extracted
+     * from: only the resubmitted scans of a content already recorded by a previous scan use it, the repository had the
+     * time to extract it since. A content never recorded may have replaced the one of the fulltext, it is converted.
+     *
+     * @since 2025.2
+     */
+    protected void registerFulltext(DocumentModel doc, Map<String, Blob> blobs) {
+        if (blobs.size() != 1) {
+            return;
+        }
+        Map.Entry<String, Blob> entry = blobs.entrySet().iterator().next();
+        Blob blob = entry.getValue();
+        String mimeType = blob != null ? blob.getMimeType() : null;
+        if (mimeType == null || mimeType.startsWith("text") || mimeType.startsWith("image")) {
+            return;
+        }
+        Map<String, Serializable> last = new DLPBlobResults(doc).get(entry.getKey());
+        if (last == null || blob.getDigest() == null || !blob.getDigest().equals(last.get(DLPBlobResults.DIGEST))) {
+            return;
+        }
+        // the fulltext is the text of all the blobs of the document
+        if (new BlobsExtractor().getBlobsProperties(doc).size() != 1) {
+            return;
+        }
+        try {
+            Map<String, String> fulltext = doc.getCoreSession().getBinaryFulltext(doc.getRef());
+            if (fulltext != null) {
+                fulltext.values()
+                        .stream()
+                        .filter(StringUtils::isNotBlank)
+                        .findFirst()
+                        .ifPresent(text -> TextSource.registerFulltext(blob, text));
+            }
+        } catch (NuxeoException e) {
+            log.debug("Unable to read the fulltext of document {}", doc.getId(), e);
+        }
+    }
+
     @Override
     protected boolean handleEventLongRunning(List<String> eventNames, Map<String, Object> data) {
 
         boolean doContinue = false;
         DataLossPreventionScanner scanService = Framework.getService(DataLossPreventionScanner.class);
 
+        // Submit all the blobs of the bundle so that the provider calls overlap, the submission blocks while the
+        // memory budget of the scanner is exhausted
+        Map<String, Map<String, CompletableFuture<ScanResult>>> pending = new HashMap<>();
+        Map<String, Map<String, String>> digests = new HashMap<>();
         for (String key : data.keySet()) {
             @SuppressWarnings("unchecked")
             Map<String, Blob> blobs = (Map<String, Blob>) data.get(key);
-            Map<String, ScanResult> results = new HashMap<String, ScanResult>();
+            Map<String, CompletableFuture<ScanResult>> futures = new HashMap<>();
+            Map<String, String> blobDigests = new HashMap<>();
 
             for (String path : blobs.keySet()) {
+                Blob blob = blobs.get(path);
+                if (blob == null) {
+                    // removed since the event, dropped from the results of the document
+                    continue;
+                }
+                blobDigests.put(path, blob.getDigest());
                 try {
-                    results.put(path, scanService.identify(blobs.get(path)));
-                    doContinue = true;
+                    futures.put(path, scanService.identifyAsync(blob));
                 } catch (Exception e) {
                     log.error("Error calling ScanProvider", e);
-                    results.put(path, ScanResult.makeFailed());
+                    futures.put(path, CompletableFuture.completedFuture(ScanResult.makeFailed()));
                 }
             }
+            pending.put(key, futures);
+            digests.put(key, blobDigests);
+        }
+
+        for (String key : pending.keySet()) {
+            Map<String, ScanResult> results = new HashMap<String, ScanResult>();
+
+            for (Map.Entry<String, CompletableFuture<ScanResult>> entry : pending.get(key).entrySet()) {
+                try {
+                    results.put(entry.getKey(), entry.getValue().join());
+                } catch (CompletionException e) {
+                    log.error("Error calling ScanProvider", e.getCause());
+                    results.put(entry.getKey(), ScanResult.makeFailed());
+                }
+            }
+            // the fulltext was registered for this scan only
+            @SuppressWarnings("unchecked")
+            Map<String, Blob> blobs = (Map<String, Blob>) data.get(key);
+            blobs.values().forEach(TextSource::unregisterFulltext);
             data.put(key, results);
+            data.put(DIGESTS_PREFIX + key, digests.get(key));
+            // the failed scans and the removed blobs are recorded too
+            doContinue = true;
         }
 
         return doContinue;
@@ -125,18 +215,21 @@ public class DLPScannerProcessor extends AbstractLongRunningListener {
 
     @Override
     protected void handleEventPostprocessing(EventBundle events, Map<String, Object> data) {
+        DLPScanRetryPolicy retryPolicy = DLPScanRetryPolicy.fromConfiguration();
 
         for (Event event : events) {
-            if (DLPScanConstants.DLP_SCAN_NEEDED_EVENT.equals(event.getName())) {
+            if (isScanEvent(event)) {
                 DLPScanEventContext vContext = DLPScanEventContext.unwrap((DocumentEventContext) event.getContext());
                 DocumentModel doc = vContext.getSourceDocument();
 
                 String key = doc.getRepositoryName() + ":" + doc.getId();
                 @SuppressWarnings("unchecked")
                 Map<String, ScanResult> results = (Map<String, ScanResult>) data.get(key);
-                Property findingProp = doc.getProperty(DLPScanConstants.DLP_FINDINGS);
+                @SuppressWarnings("unchecked")
+                Map<String, String> digests = (Map<String, String>) data.get(DIGESTS_PREFIX + key);
 
-                boolean failed = false;
+                // merge with the results of the other blobs of the document
+                DLPBlobResults blobResults = new DLPBlobResults(doc);
                 boolean sensitive = false;
                 if (results != null && results.size() > 0) {
                     for (String path : results.keySet()) {
@@ -147,28 +240,22 @@ public class DLPScannerProcessor extends AbstractLongRunningListener {
                         if (res.hasSensitiveData()) {
                             sensitive = true;
                         }
-                        if (res.isError()) {
-                            failed = true;
-                        }
-                        if (res.getFindings() != null) {
-                            findingProp.remove();
-                            for (ScanFinding f : res.getFindings()) {
-                                Map<String, String> fmap = new HashMap<>();
-                                fmap.put("info", f.getInfo());
-                                fmap.put("score", f.getScore());
-                                fmap.put("type", f.getType());
-                                fmap.put("locationJson", f.getLocationJsonStr());
-                                findingProp.addValue(fmap);
-                            }
-                        }
+                        blobResults.put(path, digests == null ? null : digests.get(path), res);
                     }
                 }
+                blobResults.apply();
+                String status = blobResults.getStatus();
+                boolean failed = DLPScanConstants.DLP_STATUS_FAILED.equals(status);
 
-                doc.setPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA, sensitive);
                 doc.setPropertyValue(DLPScanConstants.DLP_DATE_PROP, new Date());
 
-                doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP,
-                        failed ? DLPScanConstants.DLP_STATUS_FAILED : DLPScanConstants.DLP_STATUS_DONE);
+                // left pending while the scan of another blob is in progress
+                doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, status);
+                if (!failed) {
+                    DLPScanRetryPolicy.reset(doc);
+                } else if (!retryPolicy.onFailure(doc) && retryPolicy.isEnabled()) {
+                    log.warn("Scan of document {} failed, retries exhausted", doc.getId());
+                }
 
                 doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
                 CoreSession session = doc.getCoreSession();
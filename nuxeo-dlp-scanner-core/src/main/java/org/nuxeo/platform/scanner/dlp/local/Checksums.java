@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.local;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Check digits and structural rules of the identifiers detected locally. All the methods expect the identifier
+ * without separators.
+ *
+ * @since 2025.2
+ */
+public final class Checksums {
+
+    protected static final Set<String> COUNTRIES = new HashSet<>(Arrays.asList(Locale.getISOCountries()));
+
+    protected static final BigInteger NINETY_SEVEN = BigInteger.valueOf(97);
+
+    // prefixes assigned by the IRS campuses
+    protected static final Set<String> EIN_PREFIXES = new HashSet<>(Arrays.asList( //
+            "01", "02", "03", "04", "05", "06", "10", "11", "12", "13", "14", "15", "16", "20", "21", "22", "23", "24",
+            "25", "26", "27", "30", "31", "32", "33", "34", "35", "36", "37", "38", "39", "40", "41", "42", "43", "44",
+            "45", "46", "47", "48", "50", "51", "52", "53", "54", "55", "56", "57", "58", "59", "60", "61", "62", "63",
+            "64", "65", "66", "67", "68", "71", "72", "73", "74", "75", "76", "77", "80", "81", "82", "83", "84", "85",
+            "86", "87", "88", "90", "91", "92", "93", "94", "95", "98", "99"));
+
+    private Checksums() {
+        // utility class
+    }
+
+    /**
+     * @return true if the number passes the Luhn check and has a known card network prefix
+     */
+    public static boolean isCardNumber(String digits) {
+        if (digits.length() < 13 || digits.length() > 19) {
+            return false;
+        }
+        if (!digits.matches("(4|5[1-5]|2[2-7]|3[47]|3[068]|35|6011|64[4-9]|65|62).*")) {
+            return false;
+        }
+        return luhn(digits);
+    }
+
+    public static boolean luhn(String digits) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * ISO 13616 check: the country code and check digits moved at the end, letters converted to numbers, modulo 97
+     * must be 1.
+     */
+    public static boolean isIban(String iban) {
+        if (iban.length() < 15 || iban.length() > 34 || !COUNTRIES.contains(iban.substring(0, 2))) {
+            return false;
+        }
+        String rearranged = iban.substring(4) + iban.substring(0, 4);
+        StringBuilder numeric = new StringBuilder(rearranged.length() * 2);
+        for (char c : rearranged.toCharArray()) {
+            numeric.append(Character.getNumericValue(c));
+        }
+        return new BigInteger(numeric.toString()).mod(NINETY_SEVEN).intValue() == 1;
+    }
+
+    /**
+     * ISO 9362: bank code, ISO country code, location code, optional branch code.
+     */
+    public static boolean isSwiftCode(String code) {
+        return (code.length() == 8 || code.length() == 11) && COUNTRIES.contains(code.substring(4, 6));
+    }
+
+    /**
+     * ABA routing number: federal reserve prefix and 3-7-1 weighted checksum.
+     */
+    public static boolean isRoutingNumber(String digits) {
+        if (digits.length() != 9) {
+            return false;
+        }
+        int prefix = Integer.parseInt(digits.substring(0, 2));
+        if (!(prefix <= 12 || (prefix >= 21 && prefix <= 32) || (prefix >= 61 && prefix <= 72) || prefix == 80)) {
+            return false;
+        }
+        int[] weights = { 3, 7, 1 };
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (digits.charAt(i) - '0') * weights[i % 3];
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * Area not 000, 666 or 9xx, group not 00, serial not 0000, and not one of the numbers known to be used in
+     * advertisements.
+     */
+    public static boolean isSsn(String digits) {
+        if (digits.length() != 9) {
+            return false;
+        }
+        String area = digits.substring(0, 3);
+        if ("000".equals(area) || "666".equals(area) || area.charAt(0) == '9') {
+            return false;
+        }
+        if ("00".equals(digits.substring(3, 5)) || "0000".equals(digits.substring(5))) {
+            return false;
+        }
+        return !"078051120".equals(digits) && !"219099999".equals(digits);
+    }
+
+    /**
+     * 9 digits starting with 9, group in 50-65, 70-88, 90-92 or 94-99.
+     */
+    public static boolean isItin(String digits) {
+        if (digits.length() != 9 || digits.charAt(0) != '9') {
+            return false;
+        }
+        int group = Integer.parseInt(digits.substring(3, 5));
+        return (group >= 50 && group <= 65) || (group >= 70 && group <= 88) || (group >= 90 && group <= 92)
+                || group >= 94;
+    }
+
+    public static boolean isEin(String digits) {
+        return digits.length() == 9 && EIN_PREFIXES.contains(digits.substring(0, 2));
+    }
+
+}
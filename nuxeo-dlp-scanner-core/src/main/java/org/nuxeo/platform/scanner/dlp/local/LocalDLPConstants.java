@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.local;
+
+import org.nuxeo.platform.scanner.dlp.google.GoogleDLPConstants;
+
+import com.google.privacy.dlp.v2.Likelihood;
+
+/**
+ * Constants used to configure the local pattern matching provider
+ *
+ * @since 2025.2
+ */
+public interface LocalDLPConstants {
+
+    String LOCAL_NAME = "local.dlp";
+
+    String ENABLED = LOCAL_NAME + ".enabled";
+
+    String INFOTYPES = LOCAL_NAME + ".infotypes";
+
+    String LIKELYHOOD = LOCAL_NAME + ".likelyhood";
+
+    String SENSITIVITY = LOCAL_NAME + ".sensitivity";
+
+    String MAX_FINDINGS = LOCAL_NAME + ".maxfindings";
+
+    String INCLUDE_QUOTE = LOCAL_NAME + ".quote";
+
+    String CONVERT_TO_TEXT = LOCAL_NAME + ".convert";
+
+    String CONTEXT_WINDOW = LOCAL_NAME + ".context.window";
+
+    String DEFAULT_LIKELYHOOD = Likelihood.POSSIBLE.toString();
+
+    String DEFAULT_SENSITIVITY = Likelihood.LIKELY.toString();
+
+    String DEFAULT_MAX_FINDINGS = "5";
+
+    // characters searched for keywords around a match
+    String DEFAULT_CONTEXT_WINDOW = "50";
+
+    String DEFAULT_INFOTYPES = GoogleDLPConstants.DEFAULT_INFOTYPES;
+
+}
@@ -0,0 +1,351 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.local;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.convert.api.ConversionException;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanLocation;
+import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.platform.scanner.dlp.service.TextSource;
+import org.nuxeo.runtime.api.Framework;
+
+import com.google.privacy.dlp.v2.Likelihood;
+
+/**
+ * Offline provider detecting the most common identifiers with patterns and check digits. Findings are reported with
+ * the info type names, likelihoods and location format of the Google DLP provider. Images are not supported.
+ *
+ * @since 2025.2
+ */
+public class LocalPatternScanProvider implements ScanProvider, LocalDLPConstants {
+
+    private static final Logger log = LogManager.getLogger(LocalPatternScanProvider.class);
+
+    protected static final List<PatternDetector> DETECTORS = Arrays.asList( //
+            new PatternDetector("CREDIT_CARD_NUMBER", "(?<![\\d-])(?:\\d[ -]?){12,18}\\d(?![\\d-])",
+                    Checksums::isCardNumber, Likelihood.LIKELY, Likelihood.VERY_LIKELY, "card", "credit", "visa",
+                    "mastercard", "amex", "cc"),
+            new PatternDetector("IBAN_CODE",
+                    "(?<![A-Z0-9])[A-Z]{2}\\d{2}(?: ?[A-Z0-9]{4}){2,7}(?: ?[A-Z0-9]{1,3})?(?![A-Z0-9])",
+                    Checksums::isIban, Likelihood.LIKELY, Likelihood.VERY_LIKELY, "iban", "account", "bank"),
+            new PatternDetector("SWIFT_CODE", "(?<![A-Za-z0-9])[A-Z]{6}[A-Z0-9]{2}(?:[A-Z0-9]{3})?(?![A-Za-z0-9])",
+                    Checksums::isSwiftCode, Likelihood.UNLIKELY, Likelihood.LIKELY, "swift", "bic"),
+            new PatternDetector("US_SOCIAL_SECURITY_NUMBER", "(?<![\\d-])\\d{3}([- ])\\d{2}\\1\\d{4}(?![\\d-])",
+                    Checksums::isSsn, Likelihood.LIKELY, Likelihood.VERY_LIKELY, "ssn", "ssns", "social security"),
+            new PatternDetector("US_SOCIAL_SECURITY_NUMBER", "(?<![\\d-])\\d{9}(?![\\d-])", Checksums::isSsn,
+                    Likelihood.UNLIKELY, Likelihood.POSSIBLE, "ssn", "ssns", "social security"),
+            new PatternDetector("US_INDIVIDUAL_TAXPAYER_IDENTIFICATION_NUMBER",
+                    "(?<![\\d-])\\d{3}([- ]?)\\d{2}\\1\\d{4}(?![\\d-])", Checksums::isItin, Likelihood.LIKELY,
+                    Likelihood.VERY_LIKELY, "itin", "taxpayer", "tax id"),
+            new PatternDetector("US_EMPLOYER_IDENTIFICATION_NUMBER", "(?<![\\d-])\\d{2}-\\d{7}(?![\\d-])",
+                    Checksums::isEin, Likelihood.POSSIBLE, Likelihood.LIKELY, "ein", "fein", "employer identification",
+                    "tax id"),
+            new PatternDetector("US_PASSPORT", "(?<![A-Za-z0-9])(?:[A-Z]\\d{8}|\\d{9})(?![A-Za-z0-9])", v -> true,
+                    Likelihood.UNLIKELY, Likelihood.LIKELY, "passport", "passport number", "passport no")
+                            .requireContext(),
+            new PatternDetector("US_BANK_ROUTING_MICR", "(?<![\\d-])\\d{9}(?![\\d-])", Checksums::isRoutingNumber,
+                    Likelihood.UNLIKELY, Likelihood.LIKELY, "routing", "aba", "rtn", "transit", "micr"));
+
+    protected Likelihood likelihood = Likelihood.valueOf(DEFAULT_LIKELYHOOD);
+
+    protected Likelihood sensitivity = Likelihood.valueOf(DEFAULT_SENSITIVITY);
+
+    protected int maxFindings = Integer.parseInt(DEFAULT_MAX_FINDINGS);
+
+    protected int contextWindow = Integer.parseInt(DEFAULT_CONTEXT_WINDOW);
+
+    protected boolean enabled = true;
+
+    protected boolean includeQuote = true;
+
+    protected boolean convertToText = true;
+
+    protected Boolean nextIdentifyConvertToText = null;
+
+    protected List<String> infoTypes;
+
+    public LocalPatternScanProvider() {
+        super();
+        init();
+    }
+
+    protected void init() {
+        enabled = Boolean.parseBoolean(Framework.getProperty(ENABLED, "true"));
+        includeQuote = Boolean.parseBoolean(Framework.getProperty(INCLUDE_QUOTE, "true"));
+        convertToText = Boolean.parseBoolean(Framework.getProperty(CONVERT_TO_TEXT, "true"));
+        likelihood = getLikelihoodProperty(LIKELYHOOD, DEFAULT_LIKELYHOOD, likelihood);
+        sensitivity = getLikelihoodProperty(SENSITIVITY, DEFAULT_SENSITIVITY, sensitivity);
+        maxFindings = getIntProperty(MAX_FINDINGS, DEFAULT_MAX_FINDINGS, maxFindings);
+        contextWindow = getIntProperty(CONTEXT_WINDOW, DEFAULT_CONTEXT_WINDOW, contextWindow);
+
+        String infoTypeStr = Framework.getProperty(INFOTYPES, DEFAULT_INFOTYPES);
+        infoTypes = StringUtils.isBlank(infoTypeStr) ? Collections.emptyList()
+                : Arrays.stream(infoTypeStr.split(",")).map(String::trim).collect(Collectors.toList());
+    }
+
+    protected static Likelihood getLikelihoodProperty(String name, String defaultValue, Likelihood fallback) {
+        String value = Framework.getProperty(name, defaultValue);
+        try {
+            return Likelihood.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            log.error(name + " is not one of: " + Arrays.asList(Likelihood.values()));
+            return fallback;
+        }
+    }
+
+    protected static int getIntProperty(String name, String defaultValue, int fallback) {
+        String value = Framework.getProperty(name, defaultValue);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException nfe) {
+            log.error(name + " is not a number");
+            return fallback;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean supportsRedaction() {
+        return false;
+    }
+
+    @Override
+    public synchronized void setNextIdentifyConvertToTextValue(boolean value) {
+        nextIdentifyConvertToText = value;
+    }
+
+    protected synchronized Boolean consumeConvertToText() {
+        Boolean doConvertToText = nextIdentifyConvertToText;
+        nextIdentifyConvertToText = null;
+        return doConvertToText;
+    }
+
+    /**
+     * Images cannot be inspected without OCR, and other binary content only when converted to text.
+     */
+    @Override
+    public boolean checkBlobs(List<Blob> blobs) {
+        return blobs.stream().allMatch(b -> b == null || isText(b) || (convertToText && !isImage(b)));
+    }
+
+    protected static boolean isText(Blob blob) {
+        return blob.getMimeType() != null && blob.getMimeType().startsWith("text");
+    }
+
+    protected static boolean isImage(Blob blob) {
+        return blob.getMimeType() != null && blob.getMimeType().startsWith("image");
+    }
+
+    @Override
+    public List<String> getDefaultFeatures() {
+        return infoTypes;
+    }
+
+    @Override
+    public int getMaxFindings() {
+        return maxFindings;
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features, Integer maxResults) {
+        return getConfigFingerprint(features, maxResults, null);
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features, Integer maxResults, Boolean convertToText) {
+        List<String> types = features != null && !features.isEmpty() ? features : infoTypes;
+        String config = "local" //
+                + ";" + types.stream().sorted().distinct().collect(Collectors.joining(",")) //
+                + ";" + likelihood //
+                + ";" + sensitivity //
+                + ";" + (maxResults != null ? maxResults : maxFindings) //
+                + ";" + includeQuote //
+                + ";" + contextWindow //
+                + ";" + (convertToText != null ? convertToText : this.convertToText);
+        return DigestUtils.sha256Hex(config);
+    }
+
+    @Override
+    public List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults) throws IOException {
+        return identify(blobs, features, maxResults, consumeConvertToText());
+    }
+
+    @Override
+    public List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults,
+            Boolean convertToText) throws IOException {
+        boolean doConvertToText = convertToText != null ? convertToText : this.convertToText;
+        Set<String> types = new HashSet<>(features != null && !features.isEmpty() ? features : infoTypes);
+        int limit = maxResults != null ? maxResults : maxFindings;
+        List<ScanResult> results = new ArrayList<>(blobs.size());
+        for (Blob blob : blobs) {
+            if (blob == null || blob.getLength() == 0) {
+                results.add(new ScanResult(Collections.emptyList()));
+                continue;
+            }
+            try {
+                String text = getText(blob, doConvertToText);
+                results.add(text == null ? ScanResult.makeFailed() : new ScanResult(inspect(text, types, limit)));
+            } catch (ConversionException cex) {
+                log.warn("Unable to scan for DLP: " + cex.getMessage());
+                results.add(ScanResult.makeFailed());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the text of the blob, null if it cannot be inspected
+     */
+    protected String getText(Blob blob, boolean doConvertToText) throws IOException {
+        if (isText(blob)) {
+            return blob.getString();
+        }
+        if (!doConvertToText || isImage(blob)) {
+            return null;
+        }
+        Blob text = TextSource.getText(blob);
+        return text != null ? text.getString() : "";
+    }
+
+    /**
+     * Run the detectors of the requested info types on the text.
+     *
+     * @param text the text to inspect
+     * @param types the info types to detect
+     * @param limit the maximum number of findings, 0 for all
+     * @return the findings, ordered by position
+     */
+    public List<ScanFinding> inspect(String text, Set<String> types, int limit) {
+        List<Match> matches = new ArrayList<>();
+        for (PatternDetector detector : DETECTORS) {
+            if (!types.contains(detector.getInfoType())) {
+                continue;
+            }
+            Matcher matcher = detector.matcher(text);
+            while (matcher.find()) {
+                Likelihood score = detector.score(text, matcher, contextWindow);
+                if (score != null && score.getNumber() >= likelihood.getNumber()) {
+                    matches.add(new Match(detector.getInfoType(), score, matcher.start(), matcher.end()));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match m) -> m.start).thenComparing(m -> m.type));
+
+        List<ScanFinding> findings = new ArrayList<>();
+        OffsetCounter counter = new OffsetCounter(text);
+        Match previous = null;
+        for (Match match : matches) {
+            if (previous != null && previous.type.equals(match.type) && previous.start == match.start) {
+                // same identifier matched by two patterns
+                continue;
+            }
+            previous = match;
+            findings.add(toScanFinding(text, match, counter));
+            if (limit > 0 && findings.size() >= limit) {
+                break;
+            }
+        }
+        return findings;
+    }
+
+    protected ScanFinding toScanFinding(String text, Match match, OffsetCounter counter) {
+        long[] start = counter.offsetsAt(match.start);
+        String quote = text.substring(match.start, match.end);
+        long[] end = { start[0] + quote.getBytes(StandardCharsets.UTF_8).length,
+                start[1] + quote.codePointCount(0, quote.length()) };
+
+        ScanLocation location = new ScanLocation().setByteRange(start[0], end[0]).setCodePointRange(start[1], end[1]);
+
+        boolean sensitive = match.score.getNumber() >= sensitivity.getNumber();
+        return new ScanFinding(sensitive, match.score.toString(), match.type, includeQuote ? quote : null,
+                location);
+    }
+
+    protected static class Match {
+
+        protected final String type;
+
+        protected final Likelihood score;
+
+        protected final int start;
+
+        protected final int end;
+
+        protected Match(String type, Likelihood score, int start, int end) {
+            this.type = type;
+            this.score = score;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Convert increasing char offsets to UTF-8 byte and code point offsets in a single pass.
+     */
+    protected static class OffsetCounter {
+
+        protected final String text;
+
+        protected int index;
+
+        protected long bytes;
+
+        protected long codePoints;
+
+        protected OffsetCounter(String text) {
+            this.text = text;
+        }
+
+        /**
+         * @return the byte and code point offsets of the char offset, not lower than the previous one
+         */
+        protected long[] offsetsAt(int offset) {
+            while (index < offset) {
+                int cp = text.codePointAt(index);
+                bytes += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+                codePoints++;
+                index += Character.charCount(cp);
+            }
+            return new long[] { bytes, codePoints };
+        }
+    }
+
+}
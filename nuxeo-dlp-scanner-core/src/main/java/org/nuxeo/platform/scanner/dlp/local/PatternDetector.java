@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.local;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.privacy.dlp.v2.Likelihood;
+
+/**
+ * Detect an info type with a pattern, validated on the match without its separators. The likelihood of a valid match
+ * is raised when one of the keywords of the info type is found around it.
+ *
+ * @since 2025.2
+ */
+public class PatternDetector {
+
+    protected static final Pattern SEPARATORS = Pattern.compile("[ -]");
+
+    protected final String infoType;
+
+    protected final Pattern pattern;
+
+    protected final Predicate<String> validator;
+
+    protected final Likelihood likelihood;
+
+    protected final Likelihood contextLikelihood;
+
+    protected final Pattern keywords;
+
+    protected boolean contextRequired;
+
+    /**
+     * @param infoType the detected info type, named as in the Google DLP reference
+     * @param pattern the pattern of the identifier
+     * @param validator the check of the identifier without separators
+     * @param likelihood the likelihood of a valid identifier
+     * @param contextLikelihood the likelihood of a valid identifier with a keyword around
+     * @param keywords the keywords of the info type
+     */
+    public PatternDetector(String infoType, String pattern, Predicate<String> validator, Likelihood likelihood,
+            Likelihood contextLikelihood, String... keywords) {
+        this.infoType = infoType;
+        this.pattern = Pattern.compile(pattern);
+        this.validator = validator;
+        this.likelihood = likelihood;
+        this.contextLikelihood = contextLikelihood;
+        this.keywords = Pattern.compile("\\b(?:" + String.join("|", keywords) + ")\\b", Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Only report the matches with a keyword around, for the identifiers that have no checksum to validate them.
+     */
+    public PatternDetector requireContext() {
+        contextRequired = true;
+        return this;
+    }
+
+    public String getInfoType() {
+        return infoType;
+    }
+
+    public Matcher matcher(CharSequence text) {
+        return pattern.matcher(text);
+    }
+
+    /**
+     * @param text the inspected text
+     * @param match the current match of {@link #matcher(CharSequence)}
+     * @param window the number of characters searched for keywords before and after the match
+     * @return the likelihood of the match, null if it is not valid or lacks a required keyword
+     */
+    public Likelihood score(CharSequence text, Matcher match, int window) {
+        String value = SEPARATORS.matcher(match.group()).replaceAll("");
+        if (!validator.test(value)) {
+            return null;
+        }
+        Matcher context = keywords.matcher(text);
+        context.region(Math.max(0, match.start() - window), Math.min(text.length(), match.end() + window));
+        context.useTransparentBounds(true);
+        if (context.find()) {
+            return contextLikelihood;
+        }
+        return contextRequired ? null : likelihood;
+    }
+
+}
@@ -18,8 +18,6 @@
  */
 package org.nuxeo.platform.scanner.dlp.operations;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +31,7 @@ import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.platform.comment.api.AnnotationImpl;
 import org.nuxeo.ecm.platform.comment.api.AnnotationService;
 import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+import org.nuxeo.platform.scanner.dlp.service.ScanLocation;
 
 import java.io.IOException;
 import java.io.Serializable;
@@ -87,27 +86,29 @@ public class CreateNevRedactionAnnotations {
             return doc;
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-
         for (Map<String, Serializable> item : sensitiveData) {
             String locationJson = (String) item.get("locationJson");
             if (StringUtils.isBlank(locationJson)) {
                 continue;
             }
-            JsonNode json = mapper.readTree(locationJson);
+            ScanLocation location = ScanLocation.fromJson(locationJson);
 
-            boolean hasLocation = json.get("hasImageLocation").asBoolean();
+            boolean hasLocation = location.getBoxCount() > 0;
 
             if (!hasLocation) {
                 continue;
             }
+            if (!location.hasPageSize()) {
+                log.warn("document {} has image locations without page size", doc.getId());
+                continue;
+            }
 
-            int pageNumber = json.has("pageNumber") ? json.get("pageNumber").asInt() : 0;
-            int pageHeight = json.get("pageHeight").asInt();
+            int pageNumber = location.getPageNumber();
+            int pageHeight = location.getPageHeight();
 
-            JsonNode locations = json.get("imageLocations");
+            int[] boxes = location.getBoxes();
 
-            locations.iterator().forEachRemaining(location -> {
+            for (int i = 0; i < boxes.length; i += 4) {
                 AnnotationImpl annotation = new AnnotationImpl();
                 annotation.setParentId(doc.getId());
                 annotation.setXpath(xpath);
@@ -116,10 +117,10 @@ public class CreateNevRedactionAnnotations {
                 annotation.setOrigin("ARender");
 
                 //convert coordinates
-                int top = location.get("top").asInt();
-                int left = location.get("left").asInt();
-                int width = location.get("width").asInt();
-                int height =  location.get("height").asInt();
+                int top = boxes[i];
+                int left = boxes[i + 1];
+                int width = boxes[i + 2];
+                int height = boxes[i + 3];
 
                 int[] bottomLeft = new int[]{left, pageHeight - (top + height)};
                 int[] topRight = new int[]{left + width, pageHeight - top};
@@ -138,7 +139,7 @@ public class CreateNevRedactionAnnotations {
                 annotation.setEntityId(annotation.getId());
                 annotation.setEntity(annotationText);
                 annotationService.updateAnnotation(session, annotation.getId(), annotation);
-            });
+            }
         }
 
         return doc;
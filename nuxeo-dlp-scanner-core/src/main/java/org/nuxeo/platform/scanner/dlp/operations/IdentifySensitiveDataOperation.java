@@ -41,8 +41,8 @@ import org.nuxeo.ecm.core.api.blobholder.SimpleBlobHolder;
 import org.nuxeo.ecm.core.api.model.Property;
 import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
 import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.platform.scanner.dlp.listeners.DLPBlobResults;
 import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
-import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
 import org.nuxeo.platform.scanner.dlp.service.ScanResult;
 
 /**
@@ -95,28 +95,41 @@ public class IdentifySensitiveDataOperation {
         ScanResult res = identify(bh);
 
         // Update properties
-        Property findingProp = doc.getProperty(DLPScanConstants.DLP_FINDINGS);
-
         boolean failed = res.isError();
         boolean sensitive = res.hasSensitiveData();
-
-        if (res.getFindings() != null) {
-            findingProp.remove();
-            for (ScanFinding f : res.getFindings()) {
-                Map<String, String> fmap = new HashMap<>();
-                fmap.put("info", f.getInfo());
-                fmap.put("score", f.getScore());
-                fmap.put("type", f.getType());
-                fmap.put("locationJson", f.getLocationJsonStr());
-                findingProp.addValue(fmap);
+        String status = failed ? DLPScanConstants.DLP_STATUS_FAILED : DLPScanConstants.DLP_STATUS_DONE;
+
+        if (bh instanceof DocumentBlobHolder) {
+            // merge with the results of the other blobs of the document
+            String path = ((DocumentBlobHolder) bh).getXpath();
+            Blob blob = bh.getBlob();
+            DLPBlobResults blobResults = new DLPBlobResults(doc);
+            if (infoTypes == null && maxFindings == null && "default".equals(convertToText)) {
+                blobResults.put(path, blob == null ? null : blob.getDigest(), res);
+            } else {
+                // custom scan, not reused by the next scans of the document
+                blobResults.put(path, blob == null ? null : blob.getDigest(), null, res);
             }
+            blobResults.apply();
+            status = blobResults.getStatus();
+        } else {
+            if (res.getFindings() != null) {
+                Property findingProp = doc.getProperty(DLPScanConstants.DLP_FINDINGS);
+                findingProp.remove();
+                for (ScanFinding f : res.getFindings()) {
+                    Map<String, String> fmap = new HashMap<>();
+                    fmap.put("info", f.getInfo());
+                    fmap.put("score", f.getScore());
+                    fmap.put("type", f.getType());
+                    fmap.put("locationJson", f.getLocationJsonStr());
+                    findingProp.addValue(fmap);
+                }
+            }
+            doc.setPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA, sensitive);
         }
 
-        doc.setPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA, sensitive);
         doc.setPropertyValue(DLPScanConstants.DLP_DATE_PROP, new Date());
-
-        doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP,
-                failed ? DLPScanConstants.DLP_STATUS_FAILED : DLPScanConstants.DLP_STATUS_DONE);
+        doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, status);
 
         if (save) {
             doc = session.saveDocument(doc);
@@ -132,13 +145,11 @@ public class IdentifySensitiveDataOperation {
     }
 
     protected ScanResult identify(BlobHolder bh) throws IOException {
-        
-        if(convertToText != null && !"default".equals(convertToText)) {
-            ScanProvider provider = service.getProvider(service.getDefaultProvider());
-            provider.setNextIdentifyConvertToTextValue("true".equals(convertToText));
+        Boolean doConvertToText = null;
+        if (convertToText != null && !"default".equals(convertToText)) {
+            doConvertToText = "true".equals(convertToText);
         }
-        
-        return service.identify(bh.getBlob(), infoTypes, maxFindings);
+        return service.identify(bh.getBlob(), infoTypes, maxFindings, doConvertToText);
     }
 
 }
@@ -0,0 +1,57 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.operations;
+
+import org.nuxeo.ecm.automation.OperationException;
+import org.nuxeo.ecm.automation.core.Constants;
+import org.nuxeo.ecm.automation.core.annotations.Context;
+import org.nuxeo.ecm.automation.core.annotations.Operation;
+import org.nuxeo.ecm.automation.core.annotations.OperationMethod;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.EventContextImpl;
+import org.nuxeo.platform.scanner.dlp.DLPScanConstants;
+
+/**
+ * Rescan in the background the documents scanned with another configuration than the current one
+ *
+ * @since 2025.2
+ */
+@Operation(id = RescanOutdatedOperation.ID, category = Constants.CAT_SERVICES, label = "Rescan Outdated Documents",
+        description = "Scan again the documents scanned with other info types, likelihood or sensitivity than the "
+                + "current ones. Documents scanned with more info types only have their findings restricted.")
+public class RescanOutdatedOperation {
+
+    public static final String ID = "DLP.RescanOutdated";
+
+    @Context
+    protected CoreSession session;
+
+    @Context
+    protected EventService eventService;
+
+    @OperationMethod
+    public void run() throws OperationException {
+        if (!session.getPrincipal().isAdministrator()) {
+            throw new OperationException("Not allowed. You must be administrator to rescan the documents");
+        }
+        eventService.fireEvent(new EventContextImpl().newEvent(DLPScanConstants.DLP_RESCAN_OUTDATED_EVENT));
+    }
+
+}
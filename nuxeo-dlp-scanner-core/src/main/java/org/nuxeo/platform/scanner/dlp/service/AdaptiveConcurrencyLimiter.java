@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Additive increase / multiplicative decrease limit of the number of blobs a provider scans concurrently.
+ * <p/>
+ * The limit grows by one after each healthy call made while at least half of the limit is in use, and is multiplied
+ * by the backoff ratio after a call that was too slow or failed because the provider is overloaded.
+ *
+ * @since 2025.2
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    protected final int minLimit;
+
+    protected final int maxLimit;
+
+    protected final long latencyThresholdNanos;
+
+    protected final double backoffRatio;
+
+    protected double limit;
+
+    protected int inFlight;
+
+    /**
+     * @param initialLimit the limit before any call
+     * @param minLimit the lowest limit
+     * @param maxLimit the highest limit
+     * @param latencyThresholdMillis the latency of a call above which the limit is decreased
+     * @param backoffRatio the ratio applied to the limit when it is decreased, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis,
+            double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Wait until the permits fit in the limit. A call needing more permits than the limit is admitted alone.
+     *
+     * @param permits the number of blobs of the call
+     * @param timeoutMillis the maximum time to wait
+     * @return false if the permits could not be obtained in time
+     */
+    public synchronized boolean acquire(int permits, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (inFlight > 0 && inFlight + permits > (int) limit) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        inFlight += permits;
+        return true;
+    }
+
+    /**
+     * Release the permits of a call and adjust the limit.
+     *
+     * @param permits the number of blobs of the call
+     * @param latencyNanos the duration of the call
+     * @param overloaded true if the provider reported an overload
+     */
+    public synchronized void release(int permits, long latencyNanos, boolean overloaded) {
+        int used = inFlight;
+        inFlight = Math.max(0, inFlight - permits);
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (used * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Release the permits of a call that did not reach the provider, leaving the limit unchanged.
+     *
+     * @param permits the number of blobs of the call
+     */
+    public synchronized void cancel(int permits) {
+        inFlight = Math.max(0, inFlight - permits);
+        notifyAll();
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget of the bytes held at once by the scans in progress. Callers reserve the size of what they are about to read
+ * and wait while the budget is exhausted, so that concurrent scans of large blobs cannot exhaust the heap.
+ * <p/>
+ * A reservation larger than the whole budget is reduced to the budget: such a blob is scanned alone instead of never.
+ *
+ * @since 2025.2
+ */
+public class ByteBudget {
+
+    protected final long capacity;
+
+    protected long used;
+
+    /**
+     * @param capacity the budget in bytes, 0 or less for unlimited
+     */
+    public ByteBudget(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Reserve bytes, waiting for other reservations to be released if needed.
+     *
+     * @return the bytes reserved, to be released once read data is no longer held, or -1 if they could not be reserved
+     *         before the timeout
+     */
+    public synchronized long acquire(long bytes, long timeoutMillis) throws InterruptedException {
+        if (capacity <= 0) {
+            return 0;
+        }
+        long reserved = Math.max(0, Math.min(bytes, capacity));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (used + reserved > capacity) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return -1;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        used += reserved;
+        return reserved;
+    }
+
+    /**
+     * Reserve bytes without waiting.
+     *
+     * @return the bytes reserved, or -1 if the budget is exhausted
+     */
+    public synchronized long tryAcquire(long bytes) {
+        if (capacity <= 0) {
+            return 0;
+        }
+        long reserved = Math.max(0, Math.min(bytes, capacity));
+        if (used + reserved > capacity) {
+            return -1;
+        }
+        used += reserved;
+        return reserved;
+    }
+
+    public synchronized void release(long reserved) {
+        if (reserved > 0) {
+            used = Math.max(0, used - reserved);
+            notifyAll();
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getUsed() {
+        return used;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker of a provider: after a number of consecutive failed calls the circuit opens and the calls fail fast
+ * without reaching the provider. Once the open delay has elapsed, a single probe call is let through (half-open): its
+ * success closes the circuit, its failure opens it again.
+ *
+ * @since 2025.2
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    protected final int failureThreshold;
+
+    protected final long openDelayNanos;
+
+    protected State state = State.CLOSED;
+
+    protected int failures;
+
+    protected long openedAt;
+
+    /**
+     * @param failureThreshold the number of consecutive failed calls opening the circuit
+     * @param openDelayMillis the time the circuit stays open before a probe call
+     */
+    public CircuitBreaker(int failureThreshold, long openDelayMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDelayNanos = TimeUnit.MILLISECONDS.toNanos(openDelayMillis);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the call can reach the provider
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+        case CLOSED:
+            return true;
+        case OPEN:
+            if (System.nanoTime() - openedAt >= openDelayNanos) {
+                // let the probe through, the other calls keep failing fast until it completes
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return false;
+        default:
+            return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * A call was rejected locally: if it was the probe, give the next call a chance to probe the provider.
+     */
+    public synchronized void onRejected() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    /**
+     * Record the outcome of a call: it failed if it threw, or if the provider reported an error code for any blob.
+     * Errors without code (e.g. a conversion failure) are specific to a blob and do not count, neither do the scans
+     * rejected locally: a call that never reached the provider tells nothing about it.
+     *
+     * @param results the results of the call, null if it threw
+     */
+    public void record(List<ScanResult> results) {
+        if (results != null && !results.isEmpty() && results.stream().allMatch(r -> r != null && r.isRejected())) {
+            onRejected();
+        } else if (results == null
+                || results.stream().anyMatch(r -> r != null && r.getErrorCode() != null && !r.isRejected())) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Cache of the outputs of the conversions made to scan or redact blobs, keyed by the digest of the converted blob and
+ * the target of the conversion (a mime type or a converter name), so that retries and rescans do not convert the same
+ * document again.
+ * <p/>
+ * Outputs are copied to files in a temporary directory. The least recently used entries are evicted when the total
+ * size of the files exceeds the cap; outputs larger than the cap are not cached. Returned blobs are copies tracked by
+ * the framework, they stay readable after the eviction of their entry.
+ *
+ * @since 2025.2
+ */
+public class ConversionCache {
+
+    private static final Logger log = LogManager.getLogger(ConversionCache.class);
+
+    protected final Path directory;
+
+    protected final long maxBytes;
+
+    // access ordered, the eldest entry is the least recently used
+    protected final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    protected long bytes;
+
+    protected long hits;
+
+    protected long misses;
+
+    public ConversionCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the cache of the running scanner, or null if the conversions are not cached
+     */
+    public static ConversionCache getInstance() {
+        DataLossPreventionScanner scanner = Framework.getService(DataLossPreventionScanner.class);
+        return scanner instanceof ScanComponent ? ((ScanComponent) scanner).getConversionCache() : null;
+    }
+
+    /**
+     * Convert a blob, or get the output of its previous conversion to the same target from the cache of the running
+     * scanner.
+     *
+     * @param conversion the conversion of the blob to the target
+     */
+    public static List<Blob> convert(Blob source, String target, Supplier<List<Blob>> conversion) {
+        ConversionCache cache = getInstance();
+        return cache != null ? cache.getOrConvert(source, target, conversion) : conversion.get();
+    }
+
+    /**
+     * @return the cached output of the conversion of the blob to the target, converting and caching it on a miss
+     */
+    public List<Blob> getOrConvert(Blob source, String target, Supplier<List<Blob>> conversion) {
+        String digest = source != null ? source.getDigest() : null;
+        if (StringUtils.isBlank(digest)) {
+            return conversion.get();
+        }
+        String key = digest + ":" + target;
+        List<Blob> cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<Blob> output = conversion.get();
+        put(key, output);
+        return output;
+    }
+
+    protected List<Blob> get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        List<Blob> blobs = new ArrayList<>(entry.files.size());
+        try {
+            for (int i = 0; i < entry.files.size(); i++) {
+                File copy = Framework.createTempFile("dlp-conversion", null);
+                Files.copy(entry.files.get(i), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Blob blob = Blobs.createBlob(copy, entry.mimeTypes.get(i), entry.encodings.get(i),
+                        entry.filenames.get(i));
+                Framework.trackFile(copy, blob);
+                blobs.add(blob);
+            }
+        } catch (IOException e) {
+            // evicted meanwhile
+            log.debug("Unable to read the cached conversion " + key, e);
+            return null;
+        }
+        return blobs;
+    }
+
+    protected void put(String key, List<Blob> output) {
+        if (output == null || output.isEmpty() || output.contains(null)) {
+            return;
+        }
+        Entry entry = new Entry();
+        try {
+            for (Blob blob : output) {
+                Path file = directory.resolve(UUID.randomUUID().toString());
+                entry.files.add(file);
+                blob.transferTo(file.toFile());
+                entry.size += Files.size(file);
+                entry.mimeTypes.add(blob.getMimeType());
+                entry.encodings.add(blob.getEncoding());
+                entry.filenames.add(blob.getFilename());
+                if (entry.size > maxBytes) {
+                    delete(entry);
+                    return;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Unable to cache the conversion " + key, e);
+            delete(entry);
+            return;
+        }
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                bytes -= previous.size;
+                evicted.add(previous);
+            }
+            bytes += entry.size;
+            Iterator<Entry> it = entries.values().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                bytes -= eldest.size;
+                evicted.add(eldest);
+            }
+        }
+        evicted.forEach(this::delete);
+    }
+
+    protected void delete(Entry entry) {
+        for (Path file : entry.files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Unable to delete " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Drop all the entries and delete the directory of the cache.
+     */
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            bytes = 0;
+        }
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the cached outputs, in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    protected static class Entry {
+
+        protected final List<Path> files = new ArrayList<>();
+
+        protected final List<String> mimeTypes = new ArrayList<>();
+
+        protected final List<String> encodings = new ArrayList<>();
+
+        protected final List<String> filenames = new ArrayList<>();
+
+        protected long size;
+
+    }
+
+}
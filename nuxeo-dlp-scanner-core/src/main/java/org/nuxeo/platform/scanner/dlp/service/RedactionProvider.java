@@ -18,7 +18,9 @@ O * (C) Copyright 2019 Nuxeo (http://nuxeo.com/) and others.
  */
 package org.nuxeo.platform.scanner.dlp.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.DocumentModel;
@@ -37,6 +39,17 @@ public interface RedactionProvider {
      */
     boolean isEnabled();
 
+    /**
+     * Check the blobs can be redacted by a single call. The default implementation applies the checks of the scans.
+     *
+     * @param blobs the blobs to pass to the API
+     * @return true if the blobs can be redacted
+     * @since 2025.2
+     */
+    default boolean checkRedactionBlobs(List<Blob> blobs) {
+        return !(this instanceof ScanProvider) || ((ScanProvider) this).checkBlobs(blobs);
+    }
+
     /**
      * @param blobs the blobs to pass to the API
      * @param features the feature to request from the provider
@@ -44,6 +57,23 @@ public interface RedactionProvider {
      */
     List<Blob> redact(List<Blob> blobs, List<String> features);
 
+    /**
+     * Asynchronous variant of {@link #redact(List, List)} for a single blob. The default implementation performs the
+     * call synchronously.
+     *
+     * @param blob the blob to pass to the API
+     * @param features the feature to request from the provider
+     * @return a future {@link Blob}
+     * @since 2025.2
+     */
+    default CompletableFuture<Blob> redactAsync(Blob blob, List<String> features) {
+        try {
+            return CompletableFuture.completedFuture(redact(Collections.singletonList(blob), features).get(0));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Auto redact a blob input
      * 
@@ -21,19 +21,36 @@
 package org.nuxeo.platform.scanner.dlp.service;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.platform.scanner.dlp.DataLossPreventionScanner;
+import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
 import org.nuxeo.runtime.model.DefaultComponent;
 
+import com.google.common.collect.Lists;
+
+import io.dropwizard.metrics5.Counter;
+
 /**
  * Data loss prevention service component
  * 
@@ -41,6 +58,8 @@ import org.nuxeo.runtime.model.DefaultComponent;
  */
 public class ScanComponent extends DefaultComponent implements DataLossPreventionScanner {
 
+    private static final Logger log = LogManager.getLogger(ScanComponent.class);
+
     protected static final String CONFIG_EXT_POINT = "configuration";
 
     protected static final String PROVIDER_EXT_POINT = "provider";
@@ -49,6 +68,30 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
 
     protected Map<String, ScanProvider> providers = new HashMap<>();
 
+    protected ScanResultCache resultCache;
+
+    protected final ScanMetrics metrics = new ScanMetrics();
+
+    protected ScanPrefilter prefilter;
+
+    protected final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    protected long limiterTimeout;
+
+    protected final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    protected String fallbackProviderName;
+
+    protected ConversionCache conversionCache;
+
+    protected ByteBudget memoryBudget = new ByteBudget(0);
+
+    protected long memoryTimeout;
+
+    protected final Counter memoryWaits = metrics.counter("memory", "budget", "waits");
+
+    protected final Counter memoryRejections = metrics.counter("memory", "budget", "rejected");
+
     /**
      * Component activated notification. Called when the component is activated. All component dependencies are resolved
      * at that moment. Use this method to initialize the component.
@@ -58,6 +101,29 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
     @Override
     public void activate(ComponentContext context) {
         super.activate(context);
+        if (Boolean.parseBoolean(Framework.getProperty(DLP_CACHE_ENABLED, "true"))) {
+            long ttl = getLongProperty(DLP_CACHE_TTL, DEFAULT_CACHE_TTL);
+            ScanResultStore secondLevel = null;
+            if (Boolean.parseBoolean(Framework.getProperty(DLP_CACHE_KV_ENABLED, "false"))) {
+                secondLevel = new ScanResultStore(Framework.getProperty(DLP_CACHE_KV_STORE, DEFAULT_CACHE_KV_STORE),
+                        getLongProperty(DLP_CACHE_KV_TTL, String.valueOf(ttl)));
+            }
+            resultCache = new ScanResultCache(getLongProperty(DLP_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE), ttl,
+                    secondLevel);
+        }
+        if (Boolean.parseBoolean(Framework.getProperty(DLP_PREFILTER_ENABLED, "false"))) {
+            String infoTypes = Framework.getProperty(DLP_PREFILTER_INFOTYPES, DEFAULT_PREFILTER_INFOTYPES);
+            prefilter = new ScanPrefilter(Framework.getProperty(DLP_PREFILTER_PROVIDER, DEFAULT_PREFILTER_PROVIDER),
+                    Arrays.stream(infoTypes.split(",")).map(String::trim).collect(Collectors.toList()), metrics);
+        }
+        if (Boolean.parseBoolean(Framework.getProperty(DLP_CONVERSION_CACHE_ENABLED, "true"))) {
+            try {
+                conversionCache = new ConversionCache(Files.createTempDirectory("nxdlp-conversions"),
+                        getLongProperty(DLP_CONVERSION_CACHE_MAX_SIZE, DEFAULT_CONVERSION_CACHE_MAX_SIZE));
+            } catch (IOException e) {
+                log.warn("Unable to create the conversion cache directory, conversions will not be cached", e);
+            }
+        }
     }
 
     /**
@@ -68,9 +134,85 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
      */
     @Override
     public void deactivate(ComponentContext context) {
+        providers.values().forEach(ScanProvider::close);
+        if (conversionCache != null) {
+            conversionCache.clear();
+            conversionCache = null;
+        }
         super.deactivate(context);
     }
 
+    @Override
+    public void start(ComponentContext context) {
+        providers.values().forEach(ScanProvider::start);
+        limiters.clear();
+        if (Boolean.parseBoolean(Framework.getProperty(DLP_ADAPTIVE_ENABLED, "true"))) {
+            limiterTimeout = TimeUnit.SECONDS.toMillis(getLongProperty(DLP_ADAPTIVE_TIMEOUT, DEFAULT_ADAPTIVE_TIMEOUT));
+            double backoff = Double.parseDouble(DEFAULT_ADAPTIVE_BACKOFF);
+            try {
+                backoff = Double.parseDouble(
+                        Framework.getProperty(DLP_ADAPTIVE_BACKOFF, DEFAULT_ADAPTIVE_BACKOFF).trim());
+            } catch (NumberFormatException nfe) {
+                log.error(DLP_ADAPTIVE_BACKOFF + " is not a number");
+            }
+            for (String name : providers.keySet()) {
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                        (int) getLongProperty(DLP_ADAPTIVE_INITIAL, DEFAULT_ADAPTIVE_INITIAL),
+                        (int) getLongProperty(DLP_ADAPTIVE_MIN, DEFAULT_ADAPTIVE_MIN),
+                        (int) getLongProperty(DLP_ADAPTIVE_MAX, DEFAULT_ADAPTIVE_MAX),
+                        getLongProperty(DLP_ADAPTIVE_LATENCY, DEFAULT_ADAPTIVE_LATENCY), backoff);
+                limiters.put(name, limiter);
+                metrics.gauge(limiter::getLimit, "provider", name, "concurrency", "limit");
+                metrics.gauge(limiter::getInFlight, "provider", name, "concurrency", "inflight");
+            }
+        }
+        breakers.clear();
+        if (Boolean.parseBoolean(Framework.getProperty(DLP_BREAKER_ENABLED, "true"))) {
+            fallbackProviderName = StringUtils.trimToNull(Framework.getProperty(DLP_BREAKER_FALLBACK));
+            for (String name : providers.keySet()) {
+                CircuitBreaker breaker = new CircuitBreaker(
+                        (int) getLongProperty(DLP_BREAKER_FAILURES, DEFAULT_BREAKER_FAILURES),
+                        TimeUnit.SECONDS.toMillis(getLongProperty(DLP_BREAKER_DELAY, DEFAULT_BREAKER_DELAY)));
+                breakers.put(name, breaker);
+                metrics.gauge(() -> breaker.getState().ordinal(), "provider", name, "circuit", "state");
+            }
+        }
+        if (resultCache != null) {
+            metrics.gauge(() -> resultCache.getStats().hitCount(), "cache", "hit");
+            metrics.gauge(() -> resultCache.getStats().missCount(), "cache", "miss");
+            metrics.gauge(() -> resultCache.size(), "cache", "size");
+            metrics.gauge(() -> resultCache.getSecondLevelHitCount(), "cache", "kv", "hit");
+        }
+        memoryBudget = new ByteBudget(getLongProperty(DLP_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET));
+        memoryTimeout = TimeUnit.SECONDS.toMillis(getLongProperty(DLP_MEMORY_TIMEOUT, DEFAULT_MEMORY_TIMEOUT));
+        ByteBudget budget = memoryBudget;
+        metrics.gauge(budget::getCapacity, "memory", "budget", "capacity");
+        metrics.gauge(budget::getUsed, "memory", "budget", "used");
+        if (conversionCache != null) {
+            ConversionCache cache = conversionCache;
+            metrics.gauge(cache::getHitCount, "conversion", "cache", "hit");
+            metrics.gauge(cache::getMissCount, "conversion", "cache", "miss");
+            metrics.gauge(cache::getBytes, "conversion", "cache", "bytes");
+        }
+    }
+
+    @Override
+    public void stop(ComponentContext context) {
+        metrics.removeAll();
+    }
+
+    protected static long getLongProperty(String name, String defaultValue) {
+        String value = Framework.getProperty(name, defaultValue);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException nfe) {
+                log.error(name + " is not a number");
+            }
+        }
+        return Long.parseLong(defaultValue);
+    }
+
     @Override
     public void registerContribution(Object contribution, String extensionPoint, ComponentInstance contributor) {
         if (CONFIG_EXT_POINT.equals(extensionPoint)) {
@@ -123,9 +265,29 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
         }
     }
 
+    @Override
+    public ScanResult identify(Blob blob, List<String> features, Integer maxResults, Boolean convertToText)
+            throws IOException {
+        if (blob == null) {
+            throw new IllegalArgumentException("Input Blob cannot be null");
+        }
+        List<ScanResult> results = identify(config.getDefaultProviderName(), Arrays.asList(blob), features,
+                maxResults, convertToText);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
     @Override
     public List<ScanResult> identify(String providerName, List<Blob> blobs, List<String> features, Integer maxResults)
             throws IOException {
+        return identify(providerName, blobs, features, maxResults, null);
+    }
+
+    /**
+     * @param convertToText true to convert the blobs to text, null for the configured value of the provider
+     * @since 2025.2
+     */
+    public List<ScanResult> identify(String providerName, List<Blob> blobs, List<String> features, Integer maxResults,
+            Boolean convertToText) throws IOException {
         ScanProvider provider = providers.get(providerName);
 
         if (provider == null) {
@@ -138,10 +300,395 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
 
         if (blobs == null || blobs.size() == 0) {
             throw new IllegalArgumentException("Input Blob list cannot be null or empty");
-        } else if (!provider.checkBlobs(blobs)) {
-            throw new IllegalArgumentException("Too many blobs or size exceeds the API limit");
         }
-        return provider.identify(blobs, features, maxResults);
+        List<ScanResult> results = new ArrayList<>(blobs.size());
+        for (List<Blob> batch : Lists.partition(blobs, Math.max(1, provider.getMaxBlobsPerRequest()))) {
+            results.addAll(identifyBatch(providerName, provider, batch, features, maxResults, convertToText));
+        }
+        return results;
+    }
+
+    /**
+     * Scan a batch within the provider count limit. The blobs exceeding the provider limits are reported as failed
+     * instead of failing the whole batch.
+     *
+     * @since 2025.2
+     */
+    protected List<ScanResult> identifyBatch(String providerName, ScanProvider provider, List<Blob> blobs,
+            List<String> features, Integer maxResults, Boolean convertToText) throws IOException {
+        if (provider.checkBlobs(blobs)) {
+            return identifyCached(providerName, provider, blobs, features, maxResults, convertToText);
+        }
+
+        List<ScanResult> results = new ArrayList<>(Collections.nCopies(blobs.size(), null));
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < blobs.size(); i++) {
+            Blob blob = blobs.get(i);
+            if (provider.checkBlobs(Collections.singletonList(blob))) {
+                accepted.add(i);
+            } else {
+                log.warn("Blob {} exceeds the limits of provider {}, not scanned", blob.getFilename(), providerName);
+                results.set(i, ScanResult.makeFailed());
+            }
+        }
+        if (!accepted.isEmpty()) {
+            List<Blob> toScan = accepted.stream().map(blobs::get).collect(Collectors.toList());
+            List<ScanResult> scanned = identifyCached(providerName, provider, toScan, features, maxResults,
+                    convertToText);
+            for (int j = 0; j < accepted.size() && j < scanned.size(); j++) {
+                results.set(accepted.get(j), scanned.get(j));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Serve the blobs already scanned with the same configuration from the cache, and scan the others, skipping the
+     * ones the prefilter found clean. Only the results of the provider are cached.
+     *
+     * @since 2025.2
+     */
+    protected List<ScanResult> identifyCached(String providerName, ScanProvider provider, List<Blob> blobs,
+            List<String> features, Integer maxResults, Boolean convertToText) throws IOException {
+        String fingerprint = resultCache != null
+                ? provider.getConfigFingerprint(features, maxResults, convertToText)
+                : null;
+        List<ScanResult> results = new ArrayList<>(blobs.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < blobs.size(); i++) {
+            ScanResult cached = isCacheable(blobs.get(i))
+                    ? resultCache.get(ScanResultCache.getKey(providerName, blobs.get(i), fingerprint))
+                    : null;
+            results.add(cached);
+            if (cached == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return results;
+        }
+
+        List<Integer> toScan = missing;
+        if (prefilter != null) {
+            List<Boolean> needed = prefilter.filter(providers.get(prefilter.getProviderName()), provider,
+                    missing.stream().map(blobs::get).collect(Collectors.toList()), features);
+            toScan = new ArrayList<>();
+            for (int j = 0; j < missing.size(); j++) {
+                if (needed.get(j)) {
+                    toScan.add(missing.get(j));
+                } else {
+                    results.set(missing.get(j), new ScanResult(Collections.emptyList()));
+                }
+            }
+            if (toScan.isEmpty()) {
+                return results;
+            }
+        }
+
+        List<Blob> toScanBlobs = toScan.stream().map(blobs::get).collect(Collectors.toList());
+        CircuitBreaker breaker = breakers.get(providerName);
+        if (breaker != null && !breaker.allowRequest()) {
+            // fallback results are not cached as results of the provider
+            List<ScanResult> fallback = identifyFallback(providerName, toScanBlobs, features, maxResults,
+                    convertToText);
+            for (int j = 0; j < toScan.size() && j < fallback.size(); j++) {
+                results.set(toScan.get(j), fallback.get(j));
+            }
+            return results;
+        }
+        List<ScanResult> scanned = null;
+        try {
+            scanned = identifyLimited(providerName, provider, toScanBlobs, features, maxResults, convertToText);
+        } finally {
+            if (breaker != null) {
+                breaker.record(scanned);
+            }
+        }
+        for (int j = 0; j < toScan.size() && j < scanned.size(); j++) {
+            int i = toScan.get(j);
+            results.set(i, scanned.get(j));
+            if (isCacheable(blobs.get(i))) {
+                resultCache.put(ScanResultCache.getKey(providerName, blobs.get(i), fingerprint), scanned.get(j));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The results scanned from a registered fulltext are not cached: the fulltext is not the converted text of the
+     * digest.
+     *
+     * @since 2025.2
+     */
+    protected boolean isCacheable(Blob blob) {
+        return resultCache != null && !TextSource.hasFulltext(blob);
+    }
+
+    /**
+     * Scan the blobs while the circuit of the provider is open: with the fallback provider if configured, otherwise
+     * fail fast with {@link ScanResult#CIRCUIT_OPEN}, leaving the documents to the retry.
+     *
+     * @since 2025.2
+     */
+    protected List<ScanResult> identifyFallback(String providerName, List<Blob> blobs, List<String> features,
+            Integer maxResults, Boolean convertToText) throws IOException {
+        ScanProvider fallback = getFallbackProvider(providerName);
+        if (fallback == null) {
+            log.debug("Circuit of provider {} open, {} blob(s) not scanned", providerName, blobs.size());
+            return new ArrayList<>(Collections.nCopies(blobs.size(), ScanResult.makeFailed(ScanResult.CIRCUIT_OPEN)));
+        }
+        log.debug("Circuit of provider {} open, scanning {} blob(s) with {}", providerName, blobs.size(),
+                fallbackProviderName);
+        String fingerprint = getFallbackFingerprint(fallback, features, maxResults, convertToText);
+        List<ScanResult> results = identifyBatch(fallbackProviderName, fallback, blobs, features, maxResults,
+                convertToText);
+        results.replaceAll(r -> r == null ? null : r.withFallback(fingerprint));
+        return results;
+    }
+
+    /**
+     * The fallback results are recorded with the fingerprint of the fallback provider, so that they are not taken for
+     * results of the requested provider and get rescanned once it recovers.
+     *
+     * @since 2025.2
+     */
+    protected String getFallbackFingerprint(ScanProvider fallback, List<String> features, Integer maxResults,
+            Boolean convertToText) {
+        return fallbackProviderName + ":" + fallback.getConfigFingerprint(features, maxResults, convertToText);
+    }
+
+    protected ScanProvider getFallbackProvider(String providerName) {
+        if (fallbackProviderName == null || fallbackProviderName.equals(providerName)) {
+            return null;
+        }
+        ScanProvider fallback = providers.get(fallbackProviderName);
+        return fallback != null && fallback.isEnabled() ? fallback : null;
+    }
+
+    /**
+     * Scan the blobs within the adaptive concurrency limit of the provider, splitting the list if it is larger than
+     * the current limit.
+     *
+     * @since 2025.2
+     */
+    protected List<ScanResult> identifyLimited(String providerName, ScanProvider provider, List<Blob> blobs,
+            List<String> features, Integer maxResults, Boolean convertToText) throws IOException {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(providerName);
+        if (limiter == null) {
+            return identifyBudgeted(provider, blobs, features, maxResults, convertToText);
+        }
+        List<ScanResult> results = new ArrayList<>(blobs.size());
+        int index = 0;
+        while (index < blobs.size()) {
+            int permits = Math.min(blobs.size() - index, limiter.getLimit());
+            if (!limiter.acquire(permits, limiterTimeout)) {
+                log.warn("Provider {} too busy, {} blob(s) not scanned", providerName, blobs.size() - index);
+                while (results.size() < blobs.size()) {
+                    results.add(ScanResult.makeFailed(ScanResult.REJECTED));
+                }
+                break;
+            }
+            List<Blob> batch = blobs.subList(index, index + permits);
+            long reserved = reserveMemory(batch.stream().mapToLong(Blob::getLength).sum());
+            if (reserved < 0) {
+                // the provider was not called, its limit has nothing to learn from it
+                limiter.cancel(permits);
+                log.warn("Memory budget exhausted, {} blob(s) not scanned", permits);
+                results.addAll(Collections.nCopies(permits, ScanResult.makeFailed(ScanResult.REJECTED)));
+                index += permits;
+                continue;
+            }
+            long start = System.nanoTime();
+            List<ScanResult> scanned = null;
+            try {
+                scanned = provider.identify(batch, features, maxResults, convertToText);
+            } finally {
+                memoryBudget.release(reserved);
+                boolean overloaded = scanned == null || scanned.stream().anyMatch(r -> r != null && r.isOverloaded());
+                limiter.release(permits, System.nanoTime() - start, overloaded);
+            }
+            results.addAll(scanned);
+            index += permits;
+        }
+        return results;
+    }
+
+    /**
+     * Scan the blobs once their size is reserved in the memory budget, or fail them with {@link ScanResult#REJECTED}
+     * if it stays exhausted, leaving the documents to the retry.
+     *
+     * @since 2025.2
+     */
+    protected List<ScanResult> identifyBudgeted(ScanProvider provider, List<Blob> blobs, List<String> features,
+            Integer maxResults, Boolean convertToText) throws IOException {
+        long reserved = reserveMemory(blobs.stream().mapToLong(Blob::getLength).sum());
+        if (reserved < 0) {
+            log.warn("Memory budget exhausted, {} blob(s) not scanned", blobs.size());
+            return new ArrayList<>(
+                    Collections.nCopies(blobs.size(), ScanResult.makeFailed(ScanResult.REJECTED)));
+        }
+        try {
+            return provider.identify(blobs, features, maxResults, convertToText);
+        } finally {
+            memoryBudget.release(reserved);
+        }
+    }
+
+    /**
+     * Reserve bytes in the memory budget shared by all the provider calls, blocking the caller while it is exhausted.
+     *
+     * @return the bytes reserved, or -1 if they could not be reserved before the timeout
+     * @since 2025.2
+     */
+    protected long reserveMemory(long bytes) {
+        long reserved = memoryBudget.tryAcquire(bytes);
+        if (reserved >= 0) {
+            return reserved;
+        }
+        memoryWaits.inc();
+        try {
+            reserved = memoryBudget.acquire(bytes, memoryTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reserved = -1;
+        }
+        if (reserved < 0) {
+            memoryRejections.inc();
+        }
+        return reserved;
+    }
+
+    /**
+     * Asynchronous provider call once the size of the blob is reserved in the memory budget, released when the call
+     * completes. A call throwing is reported as a failed future.
+     *
+     * @since 2025.2
+     */
+    protected <T> CompletableFuture<T> callBudgeted(Blob blob, Supplier<CompletableFuture<T>> call,
+            Supplier<CompletableFuture<T>> exhausted) {
+        long reserved = reserveMemory(blob.getLength());
+        if (reserved < 0) {
+            log.warn("Memory budget exhausted, {} not processed", blob.getFilename());
+            return exhausted.get();
+        }
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            memoryBudget.release(reserved);
+            return CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((r, t) -> memoryBudget.release(reserved));
+    }
+
+    /**
+     * Asynchronous scan of a blob within the adaptive concurrency limit of the provider.
+     *
+     * @since 2025.2
+     */
+    protected CompletableFuture<ScanResult> identifyAsyncLimited(String providerName, ScanProvider provider,
+            Blob blob, List<String> features, Integer maxResults) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(providerName);
+        if (limiter == null) {
+            return identifyAsyncBudgeted(provider, blob, features, maxResults);
+        }
+        if (!limiter.acquire(1, limiterTimeout)) {
+            log.warn("Provider {} too busy, {} not scanned", providerName, blob.getFilename());
+            return CompletableFuture.completedFuture(ScanResult.makeFailed(ScanResult.REJECTED));
+        }
+        // the latency of the provider starts once the memory is reserved
+        AtomicLong start = new AtomicLong(System.nanoTime());
+        CompletableFuture<ScanResult> result = callBudgeted(blob, () -> {
+            start.set(System.nanoTime());
+            return provider.identifyAsync(blob, features, maxResults);
+        }, () -> CompletableFuture.completedFuture(ScanResult.makeFailed(ScanResult.REJECTED)));
+        return result.whenComplete((r, t) -> {
+            if (r != null && r.isRejected()) {
+                limiter.cancel(1);
+            } else {
+                limiter.release(1, System.nanoTime() - start.get(), t != null || (r != null && r.isOverloaded()));
+            }
+        });
+    }
+
+    /**
+     * @since 2025.2
+     */
+    protected CompletableFuture<ScanResult> identifyAsyncBudgeted(ScanProvider provider, Blob blob,
+            List<String> features, Integer maxResults) {
+        return callBudgeted(blob, () -> provider.identifyAsync(blob, features, maxResults),
+                () -> CompletableFuture.completedFuture(ScanResult.makeFailed(ScanResult.REJECTED)));
+    }
+
+    /**
+     * @return true if the prefilter found the blob clean, so that the provider does not need to scan it
+     * @since 2025.2
+     */
+    protected boolean isPrefiltered(ScanProvider provider, Blob blob, List<String> features) {
+        return prefilter != null && !prefilter.filter(providers.get(prefilter.getProviderName()), provider,
+                Collections.singletonList(blob), features).get(0);
+    }
+
+    @Override
+    public CompletableFuture<ScanResult> identifyAsync(Blob blob) {
+        return identifyAsync(config.getDefaultProviderName(), blob, null, null);
+    }
+
+    @Override
+    public CompletableFuture<ScanResult> identifyAsync(Blob blob, List<String> features, Integer maxResults) {
+        return identifyAsync(config.getDefaultProviderName(), blob, features, maxResults);
+    }
+
+    @Override
+    public CompletableFuture<ScanResult> identifyAsync(String providerName, Blob blob, List<String> features,
+            Integer maxResults) {
+        ScanProvider provider = providers.get(providerName);
+
+        if (provider == null) {
+            return CompletableFuture.failedFuture(new NuxeoException("Unknown provider: " + providerName));
+        }
+
+        if (!provider.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (blob == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Input Blob cannot be null"));
+        } else if (!provider.checkBlobs(Collections.singletonList(blob))) {
+            log.warn("Blob {} exceeds the limits of provider {}, not scanned", blob.getFilename(), providerName);
+            return CompletableFuture.completedFuture(ScanResult.makeFailed());
+        }
+
+        String key = isCacheable(blob)
+                ? ScanResultCache.getKey(providerName, blob, provider.getConfigFingerprint(features, maxResults))
+                : null;
+        ScanResult cached = key != null ? resultCache.get(key) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (isPrefiltered(provider, blob, features)) {
+            return CompletableFuture.completedFuture(new ScanResult(Collections.emptyList()));
+        }
+        CircuitBreaker breaker = breakers.get(providerName);
+        if (breaker != null && !breaker.allowRequest()) {
+            if (getFallbackProvider(providerName) == null) {
+                return CompletableFuture.completedFuture(ScanResult.makeFailed(ScanResult.CIRCUIT_OPEN));
+            }
+            String fingerprint = getFallbackFingerprint(getFallbackProvider(providerName), features, maxResults,
+                    null);
+            return identifyAsync(fallbackProviderName, blob, features, maxResults).thenApply(
+                    r -> r == null ? null : r.withFallback(fingerprint));
+        }
+        CompletableFuture<ScanResult> result = identifyAsyncLimited(providerName, provider, blob, features,
+                maxResults);
+        if (breaker != null) {
+            result = result.whenComplete(
+                    (r, t) -> breaker.record(t != null ? null : Collections.singletonList(r)));
+        }
+        if (key != null) {
+            result.thenAccept(r -> resultCache.put(key, r));
+        }
+        return result;
     }
 
     @Override
@@ -191,10 +738,55 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
 
         if (blobs == null || blobs.size() == 0) {
             throw new IllegalArgumentException("Input Blob list cannot be null or empty");
-        } else if (!provider.checkBlobs(blobs)) {
-            throw new IllegalArgumentException("Too many blobs or size exceeds the API limit");
         }
-        return redact.redact(blobs, features);
+        List<Blob> results = new ArrayList<>(blobs.size());
+        for (List<Blob> batch : Lists.partition(blobs, Math.max(1, provider.getMaxBlobsPerRequest()))) {
+            if (!redact.checkRedactionBlobs(batch)) {
+                throw new IllegalArgumentException("Blob size exceeds the API limit");
+            }
+            long reserved = reserveMemory(batch.stream().mapToLong(Blob::getLength).sum());
+            if (reserved < 0) {
+                throw new NuxeoException("Memory budget exhausted, blobs not redacted");
+            }
+            try {
+                results.addAll(redact.redact(batch, features));
+            } finally {
+                memoryBudget.release(reserved);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public CompletableFuture<Blob> redactAsync(Blob blob) {
+        return redactAsync(config.getDefaultProviderName(), blob, null);
+    }
+
+    @Override
+    public CompletableFuture<Blob> redactAsync(Blob blob, List<String> features) {
+        return redactAsync(config.getDefaultProviderName(), blob, features);
+    }
+
+    @Override
+    public CompletableFuture<Blob> redactAsync(String providerName, Blob blob, List<String> features) {
+        ScanProvider provider = providers.get(providerName);
+        if (provider == null || !provider.supportsRedaction()) {
+            return CompletableFuture.failedFuture(new NuxeoException("Unknown provider: " + providerName));
+        }
+
+        if (!provider.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (blob == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Input Blob cannot be null"));
+        } else if (!((RedactionProvider) provider).checkRedactionBlobs(Collections.singletonList(blob))) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Too many blobs or size exceeds the API limit"));
+        }
+        return callBudgeted(blob, () -> ((RedactionProvider) provider).redactAsync(blob, features),
+                () -> CompletableFuture.failedFuture(
+                        new NuxeoException("Memory budget exhausted, " + blob.getFilename() + " not redacted")));
     }
 
     @Override
@@ -202,6 +794,19 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
         return config.getDefaultProviderName();
     }
 
+    @Override
+    public String getConfigFingerprint() {
+        return getConfigFingerprint(null);
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features) {
+        String providerName = config.getDefaultProviderName();
+        ScanProvider provider = providers.get(providerName);
+        String fingerprint = provider != null ? provider.getConfigFingerprint(features, null) : null;
+        return fingerprint != null ? providerName + ":" + fingerprint : null;
+    }
+
     @Override
     public ScanProvider getProvider(String name) {
         return providers.get(name);
@@ -212,4 +817,50 @@ public class ScanComponent extends DefaultComponent implements DataLossPreventio
         return providers;
     }
 
+    /**
+     * @return the scan result cache, null if disabled
+     * @since 2025.2
+     */
+    public ScanResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @since 2025.2
+     */
+    public ConversionCache getConversionCache() {
+        return conversionCache;
+    }
+
+    /**
+     * @return the adaptive concurrency limiter of a provider, null if disabled
+     * @since 2025.2
+     */
+    public AdaptiveConcurrencyLimiter getLimiter(String providerName) {
+        return limiters.get(providerName);
+    }
+
+    /**
+     * @since 2025.2
+     */
+    public ByteBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * @return the circuit breaker of a provider, null if disabled
+     * @since 2025.2
+     */
+    public CircuitBreaker getCircuitBreaker(String providerName) {
+        return breakers.get(providerName);
+    }
+
+    /**
+     * @return the prefilter, null if disabled
+     * @since 2025.2
+     */
+    public ScanPrefilter getPrefilter() {
+        return prefilter;
+    }
+
 }
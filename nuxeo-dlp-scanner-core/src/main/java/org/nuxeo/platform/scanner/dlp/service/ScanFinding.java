@@ -20,6 +20,9 @@
 
 package org.nuxeo.platform.scanner.dlp.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * Encapsulate result from a data loss prevention scan
  *
@@ -34,14 +37,30 @@ public class ScanFinding {
     protected final String type;
 
     protected final String score;
-    
+
+    protected final ScanLocation location;
+
+    // location as stored, when the finding is read back from the storage
     protected final String locationJsonStr;
 
+    /**
+     * @since 2025.2
+     */
+    public ScanFinding(boolean sensitiveData, String score, String type, String info, ScanLocation location) {
+        this.sensitiveData = sensitiveData;
+        this.score = score;
+        this.type = type;
+        this.info = info;
+        this.location = location;
+        this.locationJsonStr = null;
+    }
+
     public ScanFinding(boolean sensitiveData, String score, String type, String info, String locationJsonStr) {
         this.sensitiveData = sensitiveData;
         this.score = score;
         this.type = type;
         this.info = info;
+        this.location = null;
         this.locationJsonStr = locationJsonStr;
     }
 
@@ -60,9 +79,28 @@ public class ScanFinding {
     public String getInfo() {
         return info;
     }
-    
+
+    /**
+     * @return the location of the finding, null if unknown
+     * @throws UncheckedIOException if the stored location is not valid JSON
+     * @since 2025.2
+     */
+    public ScanLocation getLocation() {
+        if (location != null || locationJsonStr == null) {
+            return location;
+        }
+        try {
+            return ScanLocation.fromJson(locationJsonStr);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the JSON form of the location, written on each call for the findings of a scan
+     */
     public String getLocationJsonStr() {
-        return locationJsonStr;
+        return location != null ? location.toJson() : locationJsonStr;
     }
 
 }
@@ -0,0 +1,423 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Location of a finding: byte and code point ranges in text, bounding boxes in images, cells in tables.
+ * <p/>
+ * Bounding boxes are kept in a single array of {@code top, left, width, height} quadruples. The JSON form, stored in
+ * the {@code locationJson} of the findings, is written and read only when the findings are persisted.
+ *
+ * @since 2025.2
+ */
+public class ScanLocation {
+
+    protected static final JsonFactory JSON = new JsonFactory();
+
+    protected static final int[] NO_BOXES = new int[0];
+
+    protected long byteStart = -1;
+
+    protected long byteEnd = -1;
+
+    protected long codePointStart = -1;
+
+    protected long codePointEnd = -1;
+
+    protected int pageNumber;
+
+    protected int pageWidth = -1;
+
+    protected int pageHeight = -1;
+
+    protected int[] boxes = NO_BOXES;
+
+    protected List<TableCell> cells = Collections.emptyList();
+
+    public ScanLocation setByteRange(long start, long end) {
+        byteStart = start;
+        byteEnd = end;
+        return this;
+    }
+
+    public ScanLocation setCodePointRange(long start, long end) {
+        codePointStart = start;
+        codePointEnd = end;
+        return this;
+    }
+
+    public ScanLocation setPageNumber(int pageNumber) {
+        this.pageNumber = pageNumber;
+        return this;
+    }
+
+    public ScanLocation setPageSize(int width, int height) {
+        pageWidth = width;
+        pageHeight = height;
+        return this;
+    }
+
+    public ScanLocation addBox(int top, int left, int width, int height) {
+        int index = boxes.length;
+        boxes = Arrays.copyOf(boxes, index + 4);
+        boxes[index] = top;
+        boxes[index + 1] = left;
+        boxes[index + 2] = width;
+        boxes[index + 3] = height;
+        return this;
+    }
+
+    public ScanLocation addCell(long row, String column, String sheet) {
+        if (cells.isEmpty()) {
+            cells = new ArrayList<>();
+        }
+        cells.add(new TableCell(row, column, sheet));
+        return this;
+    }
+
+    public boolean hasByteRange() {
+        return byteStart >= 0;
+    }
+
+    public long getByteStart() {
+        return byteStart;
+    }
+
+    public long getByteEnd() {
+        return byteEnd;
+    }
+
+    public boolean hasCodePointRange() {
+        return codePointStart >= 0;
+    }
+
+    public long getCodePointStart() {
+        return codePointStart;
+    }
+
+    public long getCodePointEnd() {
+        return codePointEnd;
+    }
+
+    /**
+     * @return the page of the finding, 0 if unknown
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public boolean hasPageSize() {
+        return pageWidth >= 0;
+    }
+
+    public int getPageWidth() {
+        return pageWidth;
+    }
+
+    public int getPageHeight() {
+        return pageHeight;
+    }
+
+    public int getBoxCount() {
+        return boxes.length / 4;
+    }
+
+    /**
+     * @return the bounding boxes, as {@code top, left, width, height} of each box; the array is not a copy
+     */
+    public int[] getBoxes() {
+        return boxes;
+    }
+
+    public List<TableCell> getCells() {
+        return cells;
+    }
+
+    /**
+     * @return the JSON form of the location, as stored in the findings
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128 + 64 * boxes.length / 4 + 48 * cells.size());
+        json.append("{\"hasByteRange\":").append(hasByteRange());
+        json.append(",\"hasCodepointRange\":").append(hasCodePointRange());
+        if (hasByteRange()) {
+            appendRange(json.append(",\"byteRange\":"), byteStart, byteEnd);
+        }
+        if (hasCodePointRange()) {
+            appendRange(json.append(",\"codePointRange\":"), codePointStart, codePointEnd);
+        }
+        if (pageNumber > 0) {
+            json.append(",\"pageNumber\":").append(pageNumber);
+        }
+        if (hasPageSize()) {
+            json.append(",\"pageWidth\":").append(pageWidth).append(",\"pageHeight\":").append(pageHeight);
+        }
+        json.append(",\"hasImageLocation\":").append(boxes.length > 0);
+        json.append(",\"imageLocations\":[");
+        for (int i = 0; i < boxes.length; i += 4) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendBox(json, i);
+        }
+        json.append(']');
+        if (boxes.length > 0) {
+            appendBox(json.append(",\"firstImageLocation\":"), 0);
+        }
+        if (!cells.isEmpty()) {
+            json.append(",\"hasTableLocation\":true,\"tableLocations\":[");
+            for (int i = 0; i < cells.size(); i++) {
+                TableCell cell = cells.get(i);
+                json.append(i > 0 ? ",{\"row\":" : "{\"row\":").append(cell.row);
+                appendString(json.append(",\"column\":"), cell.column);
+                if (cell.sheet != null && !cell.sheet.isEmpty()) {
+                    appendString(json.append(",\"sheet\":"), cell.sheet);
+                }
+                json.append('}');
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+
+    protected static void appendRange(StringBuilder json, long start, long end) {
+        json.append("{\"start\":").append(start).append(",\"end\":").append(end).append('}');
+    }
+
+    protected void appendBox(StringBuilder json, int index) {
+        json.append("{\"top\":")
+            .append(boxes[index])
+            .append(",\"left\":")
+            .append(boxes[index + 1])
+            .append(",\"width\":")
+            .append(boxes[index + 2])
+            .append(",\"height\":")
+            .append(boxes[index + 3])
+            .append('}');
+    }
+
+    protected static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * @return the location read from its JSON form, null if the JSON is null
+     */
+    public static ScanLocation fromJson(String json) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        ScanLocation location = new ScanLocation();
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a location: " + json);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                case "byteRange":
+                    long[] bytes = readRange(parser);
+                    location.setByteRange(bytes[0], bytes[1]);
+                    break;
+                case "codePointRange":
+                    long[] codePoints = readRange(parser);
+                    location.setCodePointRange(codePoints[0], codePoints[1]);
+                    break;
+                case "pageNumber":
+                    location.pageNumber = parser.getValueAsInt();
+                    break;
+                case "pageWidth":
+                    location.pageWidth = parser.getValueAsInt();
+                    break;
+                case "pageHeight":
+                    location.pageHeight = parser.getValueAsInt();
+                    break;
+                case "imageLocations":
+                    readBoxes(parser, location);
+                    break;
+                case "tableLocations":
+                    readCells(parser, location);
+                    break;
+                default:
+                    // derived fields
+                    parser.skipChildren();
+                    break;
+                }
+            }
+        }
+        return location;
+    }
+
+    protected static long[] readRange(JsonParser parser) throws IOException {
+        long[] range = { -1, -1 };
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return range;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("start".equals(field)) {
+                range[0] = parser.getValueAsLong();
+            } else if ("end".equals(field)) {
+                range[1] = parser.getValueAsLong();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return range;
+    }
+
+    protected static void readBoxes(JsonParser parser, ScanLocation location) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            readBox(parser, location);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Invalid image locations");
+        }
+    }
+
+    protected static void readCells(JsonParser parser, ScanLocation location) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            readCell(parser, location);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Invalid table locations");
+        }
+    }
+
+    protected static void readBox(JsonParser parser, ScanLocation location) throws IOException {
+        int top = 0;
+        int left = 0;
+        int width = 0;
+        int height = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+            case "top":
+                top = parser.getValueAsInt();
+                break;
+            case "left":
+                left = parser.getValueAsInt();
+                break;
+            case "width":
+                width = parser.getValueAsInt();
+                break;
+            case "height":
+                height = parser.getValueAsInt();
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        location.addBox(top, left, width, height);
+    }
+
+    protected static void readCell(JsonParser parser, ScanLocation location) throws IOException {
+        long row = 0;
+        String column = null;
+        String sheet = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("row".equals(field)) {
+                row = parser.getValueAsLong();
+            } else if ("column".equals(field)) {
+                column = parser.getValueAsString();
+            } else if ("sheet".equals(field)) {
+                sheet = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        location.addCell(row, column, sheet);
+    }
+
+    /**
+     * Cell of a table
+     */
+    public static class TableCell {
+
+        protected final long row;
+
+        protected final String column;
+
+        protected final String sheet;
+
+        public TableCell(long row, String column, String sheet) {
+            this.row = row;
+            this.column = column;
+            this.sheet = sheet;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * @return the sheet of the cell, null for single table files
+         */
+        public String getSheet() {
+            return sheet;
+        }
+    }
+
+}
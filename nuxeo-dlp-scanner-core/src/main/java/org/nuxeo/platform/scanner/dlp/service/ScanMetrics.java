@@ -0,0 +1,65 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Metrics of the data loss prevention service, all named {@code nuxeo.dlp.*}.
+ * <p/>
+ * Gauges are bound to the objects of the running service, they are removed when the service stops.
+ *
+ * @since 2025.2
+ */
+public class ScanMetrics {
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final List<MetricName> gauges = new ArrayList<>();
+
+    public static MetricName name(String... path) {
+        return MetricName.build("nuxeo", "dlp").resolve(String.join(".", path));
+    }
+
+    public synchronized <T> void gauge(Gauge<T> gauge, String... path) {
+        MetricName name = name(path);
+        registry.remove(name);
+        registry.register(name, gauge);
+        gauges.add(name);
+    }
+
+    public Counter counter(String... path) {
+        return registry.counter(name(path));
+    }
+
+    public synchronized void removeAll() {
+        gauges.forEach(registry::remove);
+        gauges.clear();
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Cheap first tier of a scan: a provider such as the local pattern matching one inspects the blobs first, and only the
+ * blobs where it finds something are sent to the remote provider.
+ * <p/>
+ * The prefilter is trusted only for the configured info types: a scan requesting any other type, or a blob the
+ * prefilter provider does not support (e.g. an image), always goes to the remote provider.
+ *
+ * @since 2025.2
+ */
+public class ScanPrefilter {
+
+    private static final Logger log = LogManager.getLogger(ScanPrefilter.class);
+
+    protected final String providerName;
+
+    protected final Set<String> infoTypes;
+
+    protected final Counter avoided;
+
+    protected final Counter forwarded;
+
+    public ScanPrefilter(String providerName, Collection<String> infoTypes, ScanMetrics metrics) {
+        this.providerName = providerName;
+        this.infoTypes = new HashSet<>(infoTypes);
+        avoided = metrics.counter("prefilter", "avoided");
+        forwarded = metrics.counter("prefilter", "forwarded");
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    /**
+     * @return the number of blobs the remote provider did not have to scan
+     */
+    public long getAvoidedCount() {
+        return avoided.getCount();
+    }
+
+    /**
+     * @param prefilter the prefilter provider, may be null if not registered
+     * @param provider the remote provider
+     * @param blobs the blobs to scan
+     * @param features the features requested from the remote provider
+     * @return for each blob, true if the remote provider must scan it
+     */
+    public List<Boolean> filter(ScanProvider prefilter, ScanProvider provider, List<Blob> blobs,
+            List<String> features) {
+        List<Boolean> needed = new ArrayList<>(Collections.nCopies(blobs.size(), Boolean.TRUE));
+        List<String> types = features != null && !features.isEmpty() ? features : provider.getDefaultFeatures();
+        if (prefilter == null || prefilter == provider || !prefilter.isEnabled() || types.isEmpty()
+                || !infoTypes.containsAll(types)) {
+            forwarded.inc(blobs.size());
+            return needed;
+        }
+
+        List<Integer> judged = new ArrayList<>();
+        List<Blob> toJudge = new ArrayList<>();
+        for (int i = 0; i < blobs.size(); i++) {
+            if (prefilter.checkBlobs(Collections.singletonList(blobs.get(i)))) {
+                judged.add(i);
+                toJudge.add(blobs.get(i));
+            }
+        }
+        if (!toJudge.isEmpty()) {
+            try {
+                List<ScanResult> results = prefilter.identify(toJudge, types, 1);
+                for (int j = 0; j < judged.size() && j < results.size(); j++) {
+                    ScanResult result = results.get(j);
+                    if (result != null && !result.isError() && result.getFindings().isEmpty()) {
+                        needed.set(judged.get(j), Boolean.FALSE);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Prefilter {} failed, scanning all the blobs", providerName, e);
+            }
+        }
+
+        long skipped = needed.stream().filter(b -> !b).count();
+        avoided.inc(skipped);
+        forwarded.inc(blobs.size() - skipped);
+        return needed;
+    }
+
+}
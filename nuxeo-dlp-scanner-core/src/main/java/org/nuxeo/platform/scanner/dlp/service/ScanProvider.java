@@ -21,7 +21,9 @@
 package org.nuxeo.platform.scanner.dlp.service;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.nuxeo.ecm.core.api.Blob;
 
@@ -52,7 +54,10 @@ public interface ScanProvider {
      * configuration
      * 
      * @param value
+     * @deprecated since 2025.2, the next call may not be the caller's one, use
+     *             {@link #identify(List, List, Integer, Boolean)} instead
      */
+    @Deprecated(since = "2025.2")
     void setNextIdentifyConvertToTextValue(boolean value);
 
     /**
@@ -63,6 +68,41 @@ public interface ScanProvider {
      */
     List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults) throws IOException;
 
+    /**
+     * Variant of {@link #identify(List, List, Integer)} overriding the conversion of the blobs to text for this call.
+     * The default implementation relies on {@link #setNextIdentifyConvertToTextValue(boolean)}.
+     *
+     * @param convertToText true to convert the blobs to text, null for the configured value
+     * @since 2025.2
+     */
+    @SuppressWarnings("deprecation")
+    default List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults,
+            Boolean convertToText) throws IOException {
+        if (convertToText != null) {
+            setNextIdentifyConvertToTextValue(convertToText);
+        }
+        return identify(blobs, features, maxResults);
+    }
+
+    /**
+     * Asynchronous variant of {@link #identify(List, List, Integer)} for a single blob. The default implementation
+     * performs the call synchronously.
+     *
+     * @param blob the blob to pass to the API
+     * @param features the feature to request from the provider
+     * @param maxResults the maximum number of results per feature
+     * @return a future {@link ScanResult}
+     * @since 2025.2
+     */
+    default CompletableFuture<ScanResult> identifyAsync(Blob blob, List<String> features, Integer maxResults) {
+        try {
+            return CompletableFuture.completedFuture(
+                    identify(Collections.singletonList(blob), features, maxResults).get(0));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Verifies that the blobs size and format are supported by the provider
      *
@@ -71,4 +111,73 @@ public interface ScanProvider {
      */
     boolean checkBlobs(List<Blob> blobs);
 
+    /**
+     * @return the features requested when none are passed to {@link #identify(List, List, Integer)}, empty if unknown
+     * @since 2025.2
+     */
+    default List<String> getDefaultFeatures() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Larger lists passed to {@link #identify(List, List, Integer)} are split by the service
+     *
+     * @return the maximum number of blobs per call
+     * @since 2025.2
+     */
+    default int getMaxBlobsPerRequest() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the maximum number of findings reported for a blob when no maximum is passed to
+     *         {@link #identify(List, List, Integer)}, 0 if not capped
+     * @since 2025.2
+     */
+    default int getMaxFindings() {
+        return 0;
+    }
+
+    /**
+     * Fingerprint of the effective inspect configuration for the given parameters: scanning the same content with the
+     * same fingerprint gives the same result.
+     *
+     * @param features the feature to request from the provider
+     * @param maxResults the maximum number of results per feature
+     * @return the fingerprint, or null if the results of this provider must not be cached
+     * @since 2025.2
+     */
+    default String getConfigFingerprint(List<String> features, Integer maxResults) {
+        return null;
+    }
+
+    /**
+     * Fingerprint of the configuration of a call to {@link #identify(List, List, Integer, Boolean)}. The default
+     * implementation only knows the fingerprint of the configured conversion to text.
+     *
+     * @param convertToText true to convert the blobs to text, null for the configured value
+     * @return the fingerprint, or null if the results of this call must not be cached
+     * @since 2025.2
+     */
+    default String getConfigFingerprint(List<String> features, Integer maxResults, Boolean convertToText) {
+        return convertToText == null ? getConfigFingerprint(features, maxResults) : null;
+    }
+
+    /**
+     * Called once all the providers have been registered, to allocate long-lived resources (connections, thread
+     * pools...)
+     *
+     * @since 2025.2
+     */
+    default void start() {
+    }
+
+    /**
+     * Release the resources allocated by {@link #start()}
+     *
+     * @since 2025.2
+     */
+    default void close() {
+    }
+
 }
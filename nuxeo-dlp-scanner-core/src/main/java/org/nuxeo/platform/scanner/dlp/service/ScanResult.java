@@ -29,26 +29,76 @@ import java.util.List;
  */
 public class ScanResult {
 
+    /**
+     * Error codes of the failures due to an overloaded provider, named after the gRPC status codes
+     *
+     * @since 2025.2
+     */
+    public static final String RESOURCE_EXHAUSTED = "RESOURCE_EXHAUSTED";
+
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+
+    public static final String DEADLINE_EXCEEDED = "DEADLINE_EXCEEDED";
+
+    /**
+     * Error code of the scans not attempted because the circuit of the provider is open
+     *
+     * @since 2025.2
+     */
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+
+    /**
+     * Error code of the scans rejected before reaching the provider because a local resource (memory budget,
+     * concurrency limit) stayed exhausted. Not held against the provider.
+     *
+     * @since 2025.2
+     */
+    public static final String REJECTED = "REJECTED";
+
     protected final boolean sensitiveData;
 
     protected final List<ScanFinding> findings;
 
     protected final boolean error;
 
+    protected final String errorCode;
+
+    protected final String fallbackFingerprint;
+
     public ScanResult(List<ScanFinding> findings) {
         this.sensitiveData = findings.stream().anyMatch(f -> f.hasSensitiveData());
         this.findings = findings;
         this.error = false;
+        this.errorCode = null;
+        this.fallbackFingerprint = null;
     }
 
-    private ScanResult() {
+    private ScanResult(String errorCode) {
         this.sensitiveData = false;
         this.findings = null;
         this.error = true;
+        this.errorCode = errorCode;
+        this.fallbackFingerprint = null;
+    }
+
+    private ScanResult(ScanResult result, String fallbackFingerprint) {
+        this.sensitiveData = result.sensitiveData;
+        this.findings = result.findings;
+        this.error = result.error;
+        this.errorCode = result.errorCode;
+        this.fallbackFingerprint = fallbackFingerprint;
     }
 
     public static ScanResult makeFailed() {
-        return new ScanResult();
+        return new ScanResult((String) null);
+    }
+
+    /**
+     * @param errorCode the cause of the failure, may be null
+     * @since 2025.2
+     */
+    public static ScanResult makeFailed(String errorCode) {
+        return new ScanResult(errorCode);
     }
 
     public boolean hasSensitiveData() {
@@ -63,4 +113,47 @@ public class ScanResult {
         return error;
     }
 
+    /**
+     * @return the cause of the failure, null if unknown or not failed
+     * @since 2025.2
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return true if the scan failed because the provider is overloaded
+     * @since 2025.2
+     */
+    public boolean isOverloaded() {
+        return RESOURCE_EXHAUSTED.equals(errorCode) || UNAVAILABLE.equals(errorCode)
+                || DEADLINE_EXCEEDED.equals(errorCode);
+    }
+
+    /**
+     * @return true if the scan was rejected locally without calling the provider
+     * @since 2025.2
+     */
+    public boolean isRejected() {
+        return REJECTED.equals(errorCode);
+    }
+
+    /**
+     * @param fingerprint the fingerprint of the fallback provider and of its configuration
+     * @return a copy of this result marked as produced by the fallback provider in place of the requested one
+     * @since 2025.2
+     */
+    public ScanResult withFallback(String fingerprint) {
+        return new ScanResult(this, fingerprint);
+    }
+
+    /**
+     * @return the fingerprint of the fallback provider that produced this result, null if produced by the requested
+     *         provider
+     * @since 2025.2
+     */
+    public String getFallbackFingerprint() {
+        return fallbackFingerprint;
+    }
+
 }
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.nuxeo.ecm.core.api.Blob;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * In memory cache of scan results, keyed by the blob digest and the fingerprint of the configuration used to scan it.
+ * <p/>
+ * An optional cluster wide {@link ScanResultStore} can be used as second level: results missing in memory are looked
+ * up there, and new results are written to both levels. Failed results are never cached.
+ *
+ * @since 2025.2
+ */
+public class ScanResultCache {
+
+    protected final Cache<String, ScanResult> cache;
+
+    protected final ScanResultStore secondLevel;
+
+    protected final AtomicLong secondLevelHits = new AtomicLong();
+
+    public ScanResultCache(long maxSize, long ttlSeconds) {
+        this(maxSize, ttlSeconds, null);
+    }
+
+    public ScanResultCache(long maxSize, long ttlSeconds, ScanResultStore secondLevel) {
+        this.secondLevel = secondLevel;
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maxSize)
+                            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                            .recordStats()
+                            .build();
+    }
+
+    /**
+     * @return the cache key of a blob, or null if it cannot be cached (no digest or no fingerprint)
+     */
+    public static String getKey(String providerName, Blob blob, String fingerprint) {
+        if (blob == null || fingerprint == null || StringUtils.isBlank(blob.getDigest())) {
+            return null;
+        }
+        return providerName + ":" + blob.getDigest() + ":" + fingerprint;
+    }
+
+    public ScanResult get(String key) {
+        if (key == null) {
+            return null;
+        }
+        ScanResult result = cache.getIfPresent(key);
+        if (result == null && secondLevel != null) {
+            result = secondLevel.get(key);
+            if (result != null) {
+                secondLevelHits.incrementAndGet();
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    public void put(String key, ScanResult result) {
+        if (key != null && result != null && !result.isError()) {
+            cache.put(key, result);
+            if (secondLevel != null) {
+                secondLevel.put(key, result);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the statistics of the in memory level, misses include the second level hits
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getSecondLevelHitCount() {
+        return secondLevelHits.get();
+    }
+
+}
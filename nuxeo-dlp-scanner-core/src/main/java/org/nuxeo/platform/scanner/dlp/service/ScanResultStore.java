@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cluster wide store of scan results, backed by a {@link KeyValueStore} so that all the nodes share the scan outcomes.
+ * <p/>
+ * Results are serialized as JSON and expire after the configured time to live.
+ *
+ * @since 2025.2
+ */
+public class ScanResultStore {
+
+    private static final Logger log = LogManager.getLogger(ScanResultStore.class);
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final String storeName;
+
+    protected final long ttlSeconds;
+
+    public ScanResultStore(String storeName, long ttlSeconds) {
+        this.storeName = storeName;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    protected KeyValueStore getStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(storeName);
+    }
+
+    public ScanResult get(String key) {
+        if (key == null) {
+            return null;
+        }
+        String json = getStore().getString(key);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return deserialize(json);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cached scan result: {}", key, e);
+            return null;
+        }
+    }
+
+    public void put(String key, ScanResult result) {
+        if (key != null && result != null && !result.isError()) {
+            getStore().put(key, serialize(result), ttlSeconds);
+        }
+    }
+
+    public static String serialize(ScanResult result) {
+        ArrayNode findings = MAPPER.createArrayNode();
+        for (ScanFinding finding : result.getFindings()) {
+            ObjectNode node = findings.addObject();
+            node.put("sensitive", finding.hasSensitiveData());
+            node.put("score", finding.getScore());
+            node.put("type", finding.getType());
+            node.put("info", finding.getInfo());
+            node.put("location", finding.getLocationJsonStr());
+        }
+        ObjectNode json = MAPPER.createObjectNode();
+        json.set("findings", findings);
+        return json.toString();
+    }
+
+    public static ScanResult deserialize(String json) throws IOException {
+        JsonNode findingsNode = MAPPER.readTree(json).path("findings");
+        List<ScanFinding> findings = new ArrayList<>(findingsNode.size());
+        for (JsonNode node : findingsNode) {
+            findings.add(new ScanFinding(node.path("sensitive").asBoolean(), textOrNull(node, "score"),
+                    textOrNull(node, "type"), textOrNull(node, "info"), textOrNull(node, "location")));
+        }
+        return new ScanResult(findings);
+    }
+
+    protected static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+}
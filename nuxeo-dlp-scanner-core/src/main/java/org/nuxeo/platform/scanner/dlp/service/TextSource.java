@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp.service;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.blobholder.SimpleBlobHolder;
+import org.nuxeo.ecm.core.convert.api.ConversionService;
+import org.nuxeo.runtime.api.Framework;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Text of the blobs inspected as text. The text already extracted by the repository for the fulltext index is used
+ * when the scanner registered it for the blob; the blob is converted only otherwise, through the
+ * {@link ConversionCache}. The fulltext is the output of the fulltext parser, not of the conversion: the results
+ * scanned from it are not cached by digest, see {@link #hasFulltext(Blob)}.
+ * <p/>
+ * Conversions avoided and made are counted in {@code nuxeo.dlp.text.fulltext} and {@code nuxeo.dlp.text.converted}.
+ *
+ * @since 2025.2
+ */
+public class TextSource {
+
+    // characters of fulltext kept, 16 to 32 MB
+    protected static final long FULLTEXT_MAX_CHARS = 16L * 1024 * 1024;
+
+    // fulltext of the blobs about to be scanned, by digest, until a provider asks for it, bounded by its length
+    protected static final Cache<String, String> FULLTEXT = CacheBuilder.newBuilder()
+            .maximumWeight(FULLTEXT_MAX_CHARS)
+            .weigher((String digest, String text) -> text.length())
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
+    protected static final ScanMetrics METRICS = new ScanMetrics();
+
+    protected static final Counter fulltext = METRICS.counter("text", "fulltext");
+
+    protected static final Counter converted = METRICS.counter("text", "converted");
+
+    private TextSource() {
+        // utility class
+    }
+
+    /**
+     * Register the text extracted from a blob, for the providers that would convert it.
+     */
+    public static void registerFulltext(Blob blob, String text) {
+        String digest = blob != null ? blob.getDigest() : null;
+        if (digest != null && StringUtils.isNotBlank(text)) {
+            FULLTEXT.put(digest, text);
+        }
+    }
+
+    /**
+     * Unregister the text of a blob once its scan is done, so that it is not used by the other conversions.
+     */
+    public static void unregisterFulltext(Blob blob) {
+        String digest = blob != null ? blob.getDigest() : null;
+        if (digest != null) {
+            FULLTEXT.invalidate(digest);
+        }
+    }
+
+    /**
+     * @return true if a fulltext is registered for the blob
+     */
+    public static boolean hasFulltext(Blob blob) {
+        String digest = blob != null ? blob.getDigest() : null;
+        return digest != null && FULLTEXT.getIfPresent(digest) != null;
+    }
+
+    /**
+     * @return the text of the blob, from its registered fulltext if any, converted or cached otherwise
+     * @throws org.nuxeo.ecm.core.convert.api.ConversionException if the conversion failed
+     */
+    public static Blob getText(Blob blob) {
+        String digest = blob.getDigest();
+        String text = digest != null ? FULLTEXT.getIfPresent(digest) : null;
+        if (text != null) {
+            fulltext.inc();
+            Blob textBlob = Blobs.createBlob(text);
+            textBlob.setFilename(blob.getFilename());
+            return textBlob;
+        }
+        return ConversionCache.convert(blob, "text/plain", () -> {
+            converted.inc();
+            ConversionService conv = Framework.getService(ConversionService.class);
+            return Collections.singletonList(
+                    conv.convertToMimeType("text/plain", new SimpleBlobHolder(blob), Collections.emptyMap()).getBlob());
+        }).get(0);
+    }
+
+    /**
+     * @return the number of conversions avoided by the use of the fulltext
+     */
+    public static long getSkippedConversions() {
+        return fulltext.getCount();
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.platform.scanner.dlp.service.RedactionProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+
+/**
+ * Provider flagging every blob whose content contains "SSN", counting the blobs it scans and the calls it receives.
+ * Accepts at most {@link #MAX_BLOBS} blobs of {@link #MAX_SIZE} bytes per call. Latency and errors can be injected.
+ * Redaction masks the "SSN" occurrences.
+ */
+public class FakeScanProvider implements ScanProvider, RedactionProvider {
+
+    public static final int MAX_BLOBS = 3;
+
+    public static final long MAX_SIZE = 1024;
+
+    public static final AtomicInteger SCANNED = new AtomicInteger();
+
+    public static final AtomicInteger CALLS = new AtomicInteger();
+
+    // milliseconds added to each call
+    public static volatile long latency;
+
+    // error code of the failed results returned by each call, null for no error
+    public static volatile String errorCode;
+
+    // default info types, only part of the configuration fingerprint
+    public static volatile List<String> infoTypes = Collections.singletonList("US_SOCIAL_SECURITY_NUMBER");
+
+    // maximum number of findings of a blob, part of the configuration fingerprint, 0 if not capped
+    public static volatile int maxFindings;
+
+    public static void reset() {
+        SCANNED.set(0);
+        CALLS.set(0);
+        latency = 0;
+        errorCode = null;
+        infoTypes = Collections.singletonList("US_SOCIAL_SECURITY_NUMBER");
+        maxFindings = 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsRedaction() {
+        return true;
+    }
+
+    @Override
+    public List<Blob> redact(List<Blob> blobs, List<String> features) {
+        if (!checkBlobs(blobs)) {
+            throw new IllegalArgumentException("Too many blobs or size exceeds the limit");
+        }
+        List<Blob> results = new ArrayList<>();
+        for (Blob blob : blobs) {
+            try {
+                results.add(Blobs.createBlob(blob.getString().replace("SSN", "***")));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Blob redactBlob(Blob blob, List<String> features) {
+        return redact(Collections.singletonList(blob), features).get(0);
+    }
+
+    @Override
+    public Blob redactDocument(DocumentModel doc, List<String> features) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setNextIdentifyConvertToTextValue(boolean value) {
+    }
+
+    @Override
+    public List<ScanResult> identify(List<Blob> blobs, List<String> features, Integer maxResults)
+            throws IOException {
+        if (!checkBlobs(blobs)) {
+            throw new IllegalArgumentException("Too many blobs or size exceeds the limit");
+        }
+        CALLS.incrementAndGet();
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<ScanResult> results = new ArrayList<>();
+        for (Blob blob : blobs) {
+            SCANNED.incrementAndGet();
+            if (errorCode != null) {
+                results.add(ScanResult.makeFailed(errorCode));
+                continue;
+            }
+            if (blob.getString().contains("SSN")) {
+                results.add(new ScanResult(Collections.singletonList(
+                        new ScanFinding(true, "LIKELY", "US_SOCIAL_SECURITY_NUMBER", "SSN", "{}"))));
+            } else {
+                results.add(new ScanResult(Collections.emptyList()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean checkBlobs(List<Blob> blobs) {
+        return blobs.size() <= MAX_BLOBS && blobs.stream().allMatch(b -> b.getLength() <= MAX_SIZE);
+    }
+
+    @Override
+    public int getMaxBlobsPerRequest() {
+        return MAX_BLOBS;
+    }
+
+    @Override
+    public List<String> getDefaultFeatures() {
+        return infoTypes;
+    }
+
+    @Override
+    public int getMaxFindings() {
+        return maxFindings;
+    }
+
+    @Override
+    public String getConfigFingerprint(List<String> features, Integer maxResults) {
+        List<String> types = features != null && !features.isEmpty() ? features : infoTypes;
+        return types.stream().sorted().distinct().collect(Collectors.toList()) + ";"
+                + (maxResults != null ? maxResults : maxFindings);
+    }
+
+}
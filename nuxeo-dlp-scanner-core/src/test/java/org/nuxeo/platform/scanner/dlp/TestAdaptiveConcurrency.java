@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.AdaptiveConcurrencyLimiter;
+import org.nuxeo.platform.scanner.dlp.service.ScanComponent;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the adaptive concurrency limit of the provider calls
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestAdaptiveConcurrency {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testLimitGrowsWhenBusyAndHealthy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4, 1000, 0.5);
+        assertTrue(limiter.acquire(2, 0));
+        // limit reached
+        assertFalse(limiter.acquire(1, 10));
+        limiter.release(2, TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertEquals(3, limiter.getLimit());
+
+        // not busy enough to grow
+        assertTrue(limiter.acquire(1, 0));
+        limiter.release(1, TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitDecreasesOnLatencyAndOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 16, 1000, 0.5);
+        assertTrue(limiter.acquire(1, 0));
+        limiter.release(1, TimeUnit.SECONDS.toNanos(2), false);
+        assertEquals(4, limiter.getLimit());
+        assertTrue(limiter.acquire(1, 0));
+        limiter.release(1, 0, true);
+        assertEquals(2, limiter.getLimit());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.acquire(1, 0));
+            limiter.release(1, 0, true);
+        }
+        assertEquals(1, limiter.getLimit());
+        // a call larger than the limit is admitted alone
+        assertTrue(limiter.acquire(3, 0));
+        assertEquals(3, limiter.getInFlight());
+        // a call that did not reach the provider leaves the limit unchanged
+        limiter.cancel(3);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void testProviderOverloadCutsTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = ((ScanComponent) scanner).getLimiter("fake");
+        assertNotNull(limiter);
+        int limit = limiter.getLimit();
+
+        FakeScanProvider.errorCode = ScanResult.RESOURCE_EXHAUSTED;
+        ScanResult result = scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+        assertTrue(result.isError());
+        assertTrue(result.isOverloaded());
+        assertTrue(limiter.getLimit() < limit || limit == 1);
+        assertEquals(0, limiter.getInFlight());
+
+        limit = limiter.getLimit();
+        FakeScanProvider.errorCode = ScanResult.UNAVAILABLE;
+        scanner.identifyAsync("fake", Blobs.createBlob("SSN"), null, null).get();
+        assertTrue(limiter.getLimit() < limit || limit == 1);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+}
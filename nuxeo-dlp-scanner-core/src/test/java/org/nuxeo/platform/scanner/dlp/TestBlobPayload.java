@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.platform.scanner.dlp.google.BlobPayload;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Test the read of the request payloads
+ */
+public class TestBlobPayload {
+
+    protected static final byte[] CONTENT = "my SSN is 192-54-2543".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testFileBlobIsMapped() throws IOException {
+        File file = Files.createTempFile("payload", ".txt").toFile();
+        try {
+            Files.write(file.toPath(), CONTENT);
+            Blob blob = Blobs.createBlob(file, "text/plain");
+            ByteString mapped = BlobPayload.read(blob, 1);
+            assertArrayEquals(CONTENT, mapped.toByteArray());
+            // a read only buffer is a mapping, not a copy in an array
+            assertTrue(mapped.asReadOnlyByteBuffer().isDirect());
+            assertArrayEquals(CONTENT, BlobPayload.read(blob, -1).toByteArray());
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Test
+    public void testStreamBlobIsRead() throws IOException {
+        Blob blob = Blobs.createBlob(CONTENT, "text/plain");
+        assertArrayEquals(CONTENT, BlobPayload.read(blob, 1).toByteArray());
+        assertEquals(0, BlobPayload.read(Blobs.createBlob(new byte[0]), 1).size());
+    }
+
+}
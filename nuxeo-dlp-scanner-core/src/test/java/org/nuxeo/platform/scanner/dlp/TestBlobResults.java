@@ -0,0 +1,242 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.listeners.DLPBlobResults;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * Test the results stored for each blob of a document and their merge
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-default-provider-contrib.xml")
+public class TestBlobResults {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testFindingsOfAllBlobsAreKept() {
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("main SSN"));
+        doc.setPropertyValue("files:files", (Serializable) newFiles("first attachment", "second attachment SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(3, FakeScanProvider.SCANNED.get());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertTrue((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        assertEquals(3, getBlobResults(doc).size());
+        assertEquals(Arrays.asList("file:content", "files:files/1/file"), getFindingXPaths(doc));
+
+        // only the changed blob is scanned, the findings of the others are kept
+        FakeScanProvider.reset();
+        doc.setPropertyValue("files:files/0/file", (Serializable) Blobs.createBlob("first attachment SSN"));
+        session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertEquals(Arrays.asList("file:content", "files:files/0/file", "files:files/1/file"),
+                getFindingXPaths(doc));
+
+        // the results of a removed blob are dropped
+        FakeScanProvider.reset();
+        doc.setPropertyValue("file:content", null);
+        session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(0, FakeScanProvider.SCANNED.get());
+        assertEquals(2, getBlobResults(doc).size());
+        assertEquals(Arrays.asList("files:files/0/file", "files:files/1/file"), getFindingXPaths(doc));
+        assertTrue(new DLPBlobResults(doc).getPathsToScan().isEmpty());
+    }
+
+    @Test
+    public void testUnchangedBlobIsNotScannedAgain() {
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("unchanged SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+
+        // same file set again along with a metadata change
+        FakeScanProvider.reset();
+        Blob blob = (Blob) doc.getPropertyValue("file:content");
+        doc.setPropertyValue("file:content", (Serializable) blob);
+        doc.setPropertyValue("dc:title", "renamed");
+        session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(0, FakeScanProvider.SCANNED.get());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertTrue((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        assertTrue(new DLPBlobResults(doc).isValid("file:content", blob));
+    }
+
+    @Test
+    public void testFailedBlobIsScannedAgain() {
+        FakeScanProvider.errorCode = ScanResult.UNAVAILABLE;
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("failing SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_FAILED, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertFalse((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        assertEquals(Arrays.asList("file:content"), new DLPBlobResults(doc).getPathsToScan());
+    }
+
+    @Test
+    public void testFallbackResultIsScannedAgain() {
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("fallback SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        Blob blob = (Blob) doc.getPropertyValue("file:content");
+        DLPBlobResults blobResults = new DLPBlobResults(doc);
+        assertTrue(blobResults.isValid("file:content", blob));
+
+        // scanned by the fallback provider while the circuit of the default one was open
+        ScanResult result = new ScanResult(Collections.emptyList()).withFallback("local:fingerprint");
+        blobResults.put("file:content", blob.getDigest(), result);
+        blobResults.apply();
+        assertFalse(blobResults.isValid("file:content", blob));
+        assertFalse(blobResults.isCurrent());
+        assertEquals(Arrays.asList("file:content"), new DLPBlobResults(doc).getPathsToScan());
+    }
+
+    @Test
+    public void testLegacyDocumentIsScannedEntirely() {
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("main SSN"));
+        doc.setPropertyValue("files:files", (Serializable) newFiles("attachment"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        // scanned before the results by blob were recorded
+        doc = session.getDocument(doc.getRef());
+        doc.setPropertyValue(DLPScanConstants.DLP_BLOBS_PROP, null);
+        doc.setPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP, null);
+        doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+        doc = session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        // not stamped until all the blobs have a result
+        doc = session.getDocument(doc.getRef());
+        DLPBlobResults blobResults = new DLPBlobResults(doc);
+        assertTrue(blobResults.isLegacy());
+        Blob attachment = (Blob) doc.getPropertyValue("files:files/0/file");
+        blobResults.put("files:files/0/file", attachment.getDigest(), new ScanResult(Collections.emptyList()));
+        blobResults.apply();
+        assertFalse(blobResults.isCurrent());
+
+        // the change of one blob scans them all, the findings of the others are kept
+        doc = session.getDocument(doc.getRef());
+        FakeScanProvider.reset();
+        doc.setPropertyValue("files:files/0/file", (Serializable) Blobs.createBlob("new attachment"));
+        session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(2, FakeScanProvider.SCANNED.get());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertTrue((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        assertEquals(Arrays.asList("file:content"), getFindingXPaths(doc));
+        assertEquals(2, getBlobResults(doc).size());
+        assertTrue(new DLPBlobResults(doc).isCurrent());
+    }
+
+    protected List<Map<String, Serializable>> newFiles(String... contents) {
+        List<Map<String, Serializable>> files = new ArrayList<>();
+        for (String content : contents) {
+            Map<String, Serializable> file = new HashMap<>();
+            file.put("file", (Serializable) Blobs.createBlob(content));
+            files.add(file);
+        }
+        return files;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, Serializable>> getBlobResults(DocumentModel doc) {
+        return (List<Map<String, Serializable>>) doc.getPropertyValue(DLPScanConstants.DLP_BLOBS_PROP);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<String> getFindingXPaths(DocumentModel doc) {
+        List<Map<String, Serializable>> findings = (List<Map<String, Serializable>>) doc.getPropertyValue(
+                DLPScanConstants.DLP_FINDINGS);
+        return findings.stream().map(f -> (String) f.get("xpath")).sorted().collect(Collectors.toList());
+    }
+
+}
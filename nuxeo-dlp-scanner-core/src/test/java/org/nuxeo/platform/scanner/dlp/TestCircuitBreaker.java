@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.CircuitBreaker;
+import org.nuxeo.platform.scanner.dlp.service.CircuitBreaker.State;
+import org.nuxeo.platform.scanner.dlp.service.ScanComponent;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the circuit breaker of the provider calls
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestCircuitBreaker {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    protected CircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+        breaker = ((ScanComponent) scanner).getCircuitBreaker("fake");
+        assertNotNull(breaker);
+        breaker.onSuccess();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+        breaker.onSuccess();
+    }
+
+    @Test
+    public void testStates() throws Exception {
+        CircuitBreaker cb = new CircuitBreaker(2, 50);
+        cb.onFailure();
+        assertEquals(State.CLOSED, cb.getState());
+        cb.onFailure();
+        assertEquals(State.OPEN, cb.getState());
+        assertFalse(cb.allowRequest());
+
+        Thread.sleep(60);
+        // a single probe
+        assertTrue(cb.allowRequest());
+        assertEquals(State.HALF_OPEN, cb.getState());
+        assertFalse(cb.allowRequest());
+        cb.onFailure();
+        assertEquals(State.OPEN, cb.getState());
+
+        Thread.sleep(60);
+        assertTrue(cb.allowRequest());
+        cb.onSuccess();
+        assertEquals(State.CLOSED, cb.getState());
+        assertTrue(cb.allowRequest());
+    }
+
+    @Test
+    public void testRejectedCallsDoNotCount() throws Exception {
+        CircuitBreaker cb = new CircuitBreaker(1, 50);
+        ScanResult rejected = ScanResult.makeFailed(ScanResult.REJECTED);
+        cb.record(Collections.singletonList(rejected));
+        assertEquals(State.CLOSED, cb.getState());
+
+        cb.record(Collections.singletonList(ScanResult.makeFailed(ScanResult.RESOURCE_EXHAUSTED)));
+        assertEquals(State.OPEN, cb.getState());
+        Thread.sleep(60);
+        assertTrue(cb.allowRequest());
+        // a rejected probe lets the next call probe again
+        cb.record(Collections.singletonList(rejected));
+        assertEquals(State.OPEN, cb.getState());
+        assertTrue(cb.allowRequest());
+        cb.record(Collections.singletonList(new ScanResult(Collections.emptyList())));
+        assertEquals(State.CLOSED, cb.getState());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFast() throws Exception {
+        FakeScanProvider.errorCode = ScanResult.UNAVAILABLE;
+        for (int i = 0; i < 5; i++) {
+            ScanResult result = scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+            assertEquals(ScanResult.UNAVAILABLE, result.getErrorCode());
+        }
+        assertEquals(State.OPEN, breaker.getState());
+        int calls = FakeScanProvider.CALLS.get();
+
+        ScanResult result = scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+        assertEquals(ScanResult.CIRCUIT_OPEN, result.getErrorCode());
+        result = scanner.identifyAsync("fake", Blobs.createBlob("SSN"), null, null).get();
+        assertEquals(ScanResult.CIRCUIT_OPEN, result.getErrorCode());
+        assertEquals(calls, FakeScanProvider.CALLS.get());
+    }
+
+    @Test
+    public void testBlobErrorsDoNotOpenTheCircuit() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            breaker.record(Collections.singletonList(ScanResult.makeFailed()));
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ConversionCache;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the caching of the conversions by digest and target, and the eviction of the least recently used ones
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+public class TestConversionCache {
+
+    protected Path directory;
+
+    protected ConversionCache cache;
+
+    protected final AtomicInteger conversions = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("test-conversions");
+        cache = new ConversionCache(directory, 20);
+    }
+
+    @After
+    public void tearDown() {
+        cache.clear();
+    }
+
+    @Test
+    public void testConversionIsCached() throws IOException {
+        Blob source = newSource("d1");
+        assertEquals("text of d1", convert(source, "text/plain").get(0).getString());
+        List<Blob> cached = convert(source, "text/plain");
+        assertEquals(1, conversions.get());
+        assertEquals("text of d1", cached.get(0).getString());
+        assertEquals("text/plain", cached.get(0).getMimeType());
+        assertEquals("d1.txt", cached.get(0).getFilename());
+        assertEquals(1, cache.getHitCount());
+
+        // another target is another conversion
+        convert(source, "application/pdf");
+        assertEquals(2, conversions.get());
+        // blobs without digest are never cached
+        convert(Blobs.createBlob("no digest"), "text/plain");
+        convert(Blobs.createBlob("no digest"), "text/plain");
+        assertEquals(4, conversions.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        convert(newSource("d1"), "text/plain");
+        convert(newSource("d2"), "text/plain");
+        assertEquals(20, cache.getBytes());
+        // d1 is used again, d2 is the eldest
+        convert(newSource("d1"), "text/plain");
+        convert(newSource("d3"), "text/plain");
+        assertEquals(2, cache.size());
+        assertEquals(20, cache.getBytes());
+
+        conversions.set(0);
+        convert(newSource("d1"), "text/plain");
+        convert(newSource("d3"), "text/plain");
+        assertEquals(0, conversions.get());
+        convert(newSource("d2"), "text/plain");
+        assertEquals(1, conversions.get());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testOutputLargerThanCapIsNotCached() {
+        cache.getOrConvert(newSource("d1"), "text/plain",
+                () -> Collections.singletonList(Blobs.createBlob("a text longer than the cap")));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testClearDeletesDirectory() {
+        convert(newSource("d1"), "text/plain");
+        assertTrue(Files.exists(directory));
+        cache.clear();
+        assertFalse(Files.exists(directory));
+        assertEquals(0, cache.size());
+    }
+
+    protected List<Blob> convert(Blob source, String target) {
+        return cache.getOrConvert(source, target, () -> {
+            conversions.incrementAndGet();
+            Blob text = Blobs.createBlob("text of " + source.getDigest());
+            text.setFilename(source.getDigest() + ".txt");
+            return Collections.singletonList(text);
+        });
+    }
+
+    protected static Blob newSource(String digest) {
+        Blob blob = Blobs.createBlob(digest, "application/msword");
+        blob.setDigest(digest);
+        return blob;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.google.GoogleDLPScanProvider;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+import com.google.cloud.ServiceOptions;
+import com.google.cloud.dlp.v2.DlpServiceClient;
+import com.google.privacy.dlp.v2.ContentItem;
+import com.google.privacy.dlp.v2.InfoType;
+import com.google.privacy.dlp.v2.InspectConfig;
+import com.google.privacy.dlp.v2.InspectContentRequest;
+import com.google.privacy.dlp.v2.ProjectName;
+
+/**
+ * Compare the per-call latency of a client created for each request with the pooled client of the provider.
+ * <p/>
+ * Requires valid Google credentials, run it manually.
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Ignore
+public class TestDlpClientPoolBenchmark {
+
+    protected static final int WARMUP_CALLS = 3;
+
+    protected static final int CALLS = 20;
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        Assert.assertNotNull(System.getenv("GOOGLE_APPLICATION_CREDENTIALS"));
+    }
+
+    protected InspectContentRequest newRequest() {
+        InspectConfig config = InspectConfig.newBuilder()
+                                            .addInfoTypes(InfoType.newBuilder().setName("US_SOCIAL_SECURITY_NUMBER"))
+                                            .build();
+        return InspectContentRequest.newBuilder()
+                                    .setParent(ProjectName.of(ServiceOptions.getDefaultProjectId()).toString())
+                                    .setInspectConfig(config)
+                                    .setItem(ContentItem.newBuilder().setValue("user name 192-54-2543 md"))
+                                    .build();
+    }
+
+    @Test
+    public void benchmarkPerCallLatency() throws Exception {
+        GoogleDLPScanProvider provider = (GoogleDLPScanProvider) scanner.getProvider("google");
+        InspectContentRequest request = newRequest();
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            provider.getClient().inspectContent(request);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            try (DlpServiceClient client = DlpServiceClient.create()) {
+                client.inspectContent(request);
+            }
+        }
+        long perCallClient = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / CALLS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            provider.getClient().inspectContent(request);
+        }
+        long pooledClient = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / CALLS;
+
+        System.out.printf("Client per call: %d ms/call, pooled client: %d ms/call%n", perCallClient, pooledClient);
+        Assert.assertTrue(pooledClient <= perCallClient);
+    }
+
+}
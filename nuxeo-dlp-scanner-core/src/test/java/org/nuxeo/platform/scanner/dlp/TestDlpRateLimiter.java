@@ -0,0 +1,57 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.nuxeo.platform.scanner.dlp.google.DlpRateLimiter;
+
+/**
+ * Test the client side rate limits of the Google DLP calls
+ */
+public class TestDlpRateLimiter {
+
+    @Test
+    public void testRequestRate() {
+        DlpRateLimiter limiter = new DlpRateLimiter(1, 0, 100);
+        assertTrue(limiter.acquire(1, 1000));
+        // next permit available in 1s, beyond the maximum wait
+        assertFalse(limiter.acquire(1, 1000));
+    }
+
+    @Test
+    public void testByteRate() {
+        DlpRateLimiter limiter = new DlpRateLimiter(0, 60_000, 100);
+        assertTrue(limiter.acquire(1, 5_000));
+        // 5000 bytes at 1000 bytes per second
+        assertFalse(limiter.acquire(1, 100));
+    }
+
+    @Test
+    public void testUnlimited() {
+        DlpRateLimiter limiter = new DlpRateLimiter(0, 0, 0);
+        assertFalse(limiter.isEnabled());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.acquire(1, Integer.MAX_VALUE));
+        }
+    }
+
+}
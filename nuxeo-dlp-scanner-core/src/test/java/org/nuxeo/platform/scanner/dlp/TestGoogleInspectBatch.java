@@ -0,0 +1,274 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.google.GoogleDLPConstants;
+import org.nuxeo.platform.scanner.dlp.google.GoogleDLPScanProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.dlp.v2.DlpServiceClient;
+import com.google.cloud.dlp.v2.stub.DlpServiceStub;
+import com.google.privacy.dlp.v2.ContentItem;
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.InfoType;
+import com.google.privacy.dlp.v2.InspectContentRequest;
+import com.google.privacy.dlp.v2.InspectContentResponse;
+import com.google.privacy.dlp.v2.InspectResult;
+import com.google.privacy.dlp.v2.Likelihood;
+
+/**
+ * Test the batch inspection of the Google DLP provider against a fake API: each request answers after a delay with a
+ * finding quoting its content, and the requests containing "slow" never answer.
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@WithFrameworkProperty(name = GoogleDLPConstants.API_PROJECT, value = "test-project")
+@WithFrameworkProperty(name = GoogleDLPConstants.RATELIMIT_REQUESTS, value = "0")
+@WithFrameworkProperty(name = GoogleDLPConstants.BATCH_TIMEOUT, value = "2")
+@WithFrameworkProperty(name = GoogleDLPConstants.CHUNK_SIZE, value = "100")
+@WithFrameworkProperty(name = GoogleDLPConstants.CHUNK_OVERLAP, value = "10")
+@WithFrameworkProperty(name = GoogleDLPConstants.REQUEST_MAX_SIZE, value = "2000")
+public class TestGoogleInspectBatch {
+
+    protected static final int BATCH_CONCURRENCY = Integer.parseInt(GoogleDLPConstants.DEFAULT_BATCH_CONCURRENCY);
+
+    protected ScheduledExecutorService scheduler;
+
+    protected FakeInspectCallable callable;
+
+    protected GoogleDLPScanProvider provider;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newScheduledThreadPool(4);
+        callable = new FakeInspectCallable();
+        DlpServiceClient client = DlpServiceClient.create(new FakeDlpServiceStub(callable));
+        provider = new GoogleDLPScanProvider() {
+            @Override
+            public DlpServiceClient getClient() {
+                return client;
+            }
+        };
+        provider.start();
+        assertTrue(provider.isEnabled());
+    }
+
+    @After
+    public void tearDown() {
+        provider.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testResultsKeepTheOrderOfTheBlobs() throws Exception {
+        List<Blob> blobs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            blobs.add(Blobs.createBlob("blob " + i));
+        }
+        // the last blobs are answered first
+        callable.delay = request -> 50L * (6 - Character.getNumericValue(getContent(request).charAt(5)));
+
+        List<ScanResult> results = provider.identify(blobs, null, null);
+        assertEquals(blobs.size(), results.size());
+        for (int i = 0; i < blobs.size(); i++) {
+            assertFalse(results.get(i).isError());
+            assertEquals("blob " + i, results.get(i).getFindings().get(0).getInfo());
+        }
+    }
+
+    @Test
+    public void testSlowBlobsFailAtTheBatchDeadline() throws Exception {
+        List<Blob> blobs = List.of(Blobs.createBlob("fast"), Blobs.createBlob("slow"), Blobs.createBlob("fast too"));
+
+        List<ScanResult> results = provider.identify(blobs, null, null);
+        assertFalse(results.get(0).isError());
+        assertEquals(ScanResult.DEADLINE_EXCEEDED, results.get(1).getErrorCode());
+        assertFalse(results.get(2).isError());
+        assertEquals("fast too", results.get(2).getFindings().get(0).getInfo());
+    }
+
+    @Test
+    public void testAsyncScanCompletesAtTheBatchDeadline() throws Exception {
+        CompletableFuture<ScanResult> slow = provider.identifyAsync(Blobs.createBlob("slow"), null, null);
+        CompletableFuture<ScanResult> fast = provider.identifyAsync(Blobs.createBlob("fast"), null, null);
+
+        assertEquals("fast", fast.get(10, TimeUnit.SECONDS).getFindings().get(0).getInfo());
+        assertEquals(ScanResult.DEADLINE_EXCEEDED, slow.get(10, TimeUnit.SECONDS).getErrorCode());
+    }
+
+    @Test
+    public void testRequestsInFlightAreBounded() throws Exception {
+        // each blob is split in several chunks, each inspected by its own request
+        List<Blob> blobs = new ArrayList<>();
+        for (int i = 0; i < 2 * BATCH_CONCURRENCY; i++) {
+            blobs.add(Blobs.createBlob(StringUtils.repeat("chunked text ", 80)));
+        }
+        callable.delay = request -> 20L;
+
+        List<ScanResult> results = provider.identify(blobs, null, null);
+        assertTrue(results.stream().noneMatch(ScanResult::isError));
+        assertTrue(callable.calls.get() > blobs.size());
+        assertTrue(callable.maxInFlight.get() > 0);
+        assertTrue("max in flight: " + callable.maxInFlight.get(), callable.maxInFlight.get() <= BATCH_CONCURRENCY);
+    }
+
+    @Test
+    public void testOversizedImagesNeedTheirDimensions() throws Exception {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(0);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        Blob png = Blobs.createBlob(out.toByteArray(), "image/png");
+        assertTrue(png.getLength() > 2000);
+        assertTrue(provider.checkBlobs(List.of(png)));
+        // redacted as is, in a single request
+        assertFalse(provider.checkRedactionBlobs(List.of(png)));
+
+        // neither readable nor samplable
+        byte[] bytes = new byte[4000];
+        random.nextBytes(bytes);
+        bytes[0] = 0;
+        assertFalse(provider.checkBlobs(List.of(Blobs.createBlob(bytes, "image/png"))));
+        assertTrue(provider.checkBlobs(List.of(Blobs.createBlob(new byte[100], "image/png"))));
+        assertTrue(provider.checkRedactionBlobs(List.of(Blobs.createBlob(new byte[100], "image/png"))));
+    }
+
+    protected static String getContent(InspectContentRequest request) {
+        ContentItem item = request.getItem();
+        return item.hasByteItem() ? item.getByteItem().getData().toStringUtf8() : item.getValue();
+    }
+
+    protected class FakeInspectCallable extends UnaryCallable<InspectContentRequest, InspectContentResponse> {
+
+        protected final AtomicInteger calls = new AtomicInteger();
+
+        protected final AtomicInteger inFlight = new AtomicInteger();
+
+        protected final AtomicInteger maxInFlight = new AtomicInteger();
+
+        // milliseconds before answering a request
+        protected volatile ToLongFunction<InspectContentRequest> delay = request -> 0L;
+
+        @Override
+        public ApiFuture<InspectContentResponse> futureCall(InspectContentRequest request, ApiCallContext context) {
+            calls.incrementAndGet();
+            SettableApiFuture<InspectContentResponse> response = SettableApiFuture.create();
+            String content = getContent(request);
+            if (content.contains("slow")) {
+                return response;
+            }
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Finding finding = Finding.newBuilder()
+                                     .setQuote(content)
+                                     .setInfoType(InfoType.newBuilder().setName("PERSON_NAME"))
+                                     .setLikelihood(Likelihood.LIKELY)
+                                     .build();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                response.set(InspectContentResponse.newBuilder()
+                                                   .setResult(InspectResult.newBuilder().addFindings(finding))
+                                                   .build());
+            }, delay.applyAsLong(request), TimeUnit.MILLISECONDS);
+            return response;
+        }
+    }
+
+    protected static class FakeDlpServiceStub extends DlpServiceStub {
+
+        protected final UnaryCallable<InspectContentRequest, InspectContentResponse> inspectContentCallable;
+
+        protected FakeDlpServiceStub(UnaryCallable<InspectContentRequest, InspectContentResponse> callable) {
+            inspectContentCallable = callable;
+        }
+
+        @Override
+        public UnaryCallable<InspectContentRequest, InspectContentResponse> inspectContentCallable() {
+            return inspectContentCallable;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public void shutdownNow() {
+        }
+
+        @Override
+        public boolean awaitTermination(long duration, TimeUnit unit) {
+            return true;
+        }
+    }
+
+}
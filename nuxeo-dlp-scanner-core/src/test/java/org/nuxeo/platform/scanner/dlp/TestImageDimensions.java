@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+import org.nuxeo.platform.scanner.dlp.google.ImageDimensions;
+
+/**
+ * Test the read of the dimensions of an image from its header
+ */
+public class TestImageDimensions {
+
+    @Test
+    public void testProbeFormats() throws IOException {
+        BufferedImage image = new BufferedImage(37, 21, BufferedImage.TYPE_INT_RGB);
+        for (String format : new String[] { "jpg", "png", "gif", "bmp", "tiff" }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, format, out);
+            ImageDimensions dimensions = ImageDimensions.probe(new ByteArrayInputStream(out.toByteArray()));
+            assertNotNull(format, dimensions);
+            assertEquals(format, 37, dimensions.getWidth());
+            assertEquals(format, 21, dimensions.getHeight());
+        }
+    }
+
+    @Test
+    public void testProbeJpegWithMetadata() throws IOException {
+        try (InputStream stream = getClass().getResourceAsStream("/ssn.jpg")) {
+            ImageDimensions dimensions = ImageDimensions.probe(stream);
+            assertEquals(1700, dimensions.getWidth());
+            assertEquals(2200, dimensions.getHeight());
+        }
+    }
+
+    @Test
+    public void testProbeUnknownOrTruncated() throws IOException {
+        assertNull(ImageDimensions.probe(new ByteArrayInputStream("<svg/>".getBytes())));
+        assertNull(ImageDimensions.probe(new ByteArrayInputStream(new byte[] { (byte) 0x89, 0x50, 0x4E })));
+        assertNull(ImageDimensions.probe(new ByteArrayInputStream(new byte[] { (byte) 0xFF, (byte) 0xD8 })));
+        assertNull(ImageDimensions.probe(new ByteArrayInputStream(new byte[0])));
+    }
+
+}
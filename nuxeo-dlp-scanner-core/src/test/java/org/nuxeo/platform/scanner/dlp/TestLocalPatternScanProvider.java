@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.local.Checksums;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the offline pattern matching provider
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+public class TestLocalPatternScanProvider {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    protected ScanResult scan(String text) throws Exception {
+        return scanner.identify("local", Blobs.createBlob(text), null, 0);
+    }
+
+    protected List<String> types(ScanResult result) {
+        return result.getFindings().stream().map(ScanFinding::getType).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testChecksums() {
+        assertTrue(Checksums.isCardNumber("4111111111111111"));
+        assertFalse(Checksums.isCardNumber("4111111111111112"));
+        assertTrue(Checksums.isIban("GB82WEST12345698765432"));
+        assertFalse(Checksums.isIban("GB82WEST12345698765433"));
+        assertTrue(Checksums.isRoutingNumber("021000021"));
+        assertFalse(Checksums.isRoutingNumber("021000022"));
+        assertTrue(Checksums.isSsn("192542543"));
+        assertFalse(Checksums.isSsn("666542543"));
+        assertTrue(Checksums.isItin("912701234"));
+        assertFalse(Checksums.isItin("912931234"));
+        assertTrue(Checksums.isEin("123456789"));
+        assertFalse(Checksums.isEin("073456789"));
+        assertTrue(Checksums.isSwiftCode("DEUTDEFF500"));
+    }
+
+    @Test
+    public void testDetection() throws Exception {
+        ScanResult result = scan("My SSN is 192-54-2543, my card 4111 1111 1111 1111 and my IBAN FR76 3000 6000 "
+                + "0112 3456 7890 189. Bank SWIFT code DEUTDEFF, routing number 021000021.");
+        assertTrue(result.hasSensitiveData());
+        assertEquals(Arrays.asList("US_SOCIAL_SECURITY_NUMBER", "CREDIT_CARD_NUMBER", "IBAN_CODE", "SWIFT_CODE",
+                "US_BANK_ROUTING_MICR"), types(result));
+
+        ScanFinding ssn = result.getFindings().get(0);
+        assertEquals("VERY_LIKELY", ssn.getScore());
+        assertEquals("192-54-2543", ssn.getInfo());
+        JSONObject location = new JSONObject(ssn.getLocationJsonStr());
+        assertTrue(location.getBoolean("hasByteRange"));
+        assertFalse(location.getBoolean("hasImageLocation"));
+        assertEquals(10, location.getJSONObject("byteRange").getLong("start"));
+        assertEquals(21, location.getJSONObject("byteRange").getLong("end"));
+    }
+
+    @Test
+    public void testOffsetsAfterMultiByteCharacters() throws Exception {
+        ScanResult result = scan("Numéro de sécurité sociale : 192-54-2543");
+        assertEquals(1, result.getFindings().size());
+        JSONObject location = new JSONObject(result.getFindings().get(0).getLocationJsonStr());
+        assertEquals(32, location.getJSONObject("byteRange").getLong("start"));
+        assertEquals(29, location.getJSONObject("codePointRange").getLong("start"));
+    }
+
+    @Test
+    public void testInvalidIdentifiersAreIgnored() throws Exception {
+        ScanResult result = scan("Order 4111 1111 1111 1112 shipped to 666-54-2543, reference DOCUMENT.");
+        assertFalse(result.isError());
+        assertTrue(result.getFindings().isEmpty());
+    }
+
+    @Test
+    public void testPassportNeedsAKeyword() throws Exception {
+        List<String> features = Collections.singletonList("US_PASSPORT");
+        Blob blob = Blobs.createBlob("Order 123456789, invoice C12345678");
+        assertTrue(scanner.identify("local", blob, features, null).getFindings().isEmpty());
+
+        blob = Blobs.createBlob("Passport number: C12345678");
+        ScanResult result = scanner.identify("local", blob, features, null);
+        assertEquals(Collections.singletonList("US_PASSPORT"), types(result));
+        assertEquals("LIKELY", result.getFindings().get(0).getScore());
+    }
+
+    @Test
+    public void testFeaturesAndLimit() throws Exception {
+        Blob blob = Blobs.createBlob("SSN 192-54-2543, card 4111111111111111, SSN 219-54-2543");
+        ScanResult result = scanner.identify("local", blob, Collections.singletonList("US_SOCIAL_SECURITY_NUMBER"),
+                1);
+        assertEquals(Collections.singletonList("US_SOCIAL_SECURITY_NUMBER"), types(result));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testConvertToTextIsPartOfTheFingerprint() throws Exception {
+        ScanProvider provider = scanner.getProvider("local");
+        String configured = provider.getConfigFingerprint(null, null);
+        assertEquals(configured, provider.getConfigFingerprint(null, null, Boolean.TRUE));
+        assertNotEquals(configured, provider.getConfigFingerprint(null, null, Boolean.FALSE));
+
+        // the value set for the next call does not leak into the fingerprint of the other calls
+        provider.setNextIdentifyConvertToTextValue(false);
+        assertEquals(configured, provider.getConfigFingerprint(null, null));
+        // consumed by the next call
+        assertFalse(provider.identify(Collections.singletonList(Blobs.createBlob("text")), null, null)
+                            .get(0)
+                            .isError());
+    }
+
+    @Test
+    public void testImagesAreNotSupported() throws Exception {
+        Blob image = Blobs.createBlob(new byte[] { 1, 2, 3 }, "image/png");
+        ScanResult result = scanner.identify("local", image, null, null);
+        assertNotNull(result);
+        assertTrue(result.isError());
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ByteBudget;
+import org.nuxeo.platform.scanner.dlp.service.ScanComponent;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the memory budget shared by the provider calls
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestMemoryBudget {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testBudgetWaitsForRelease() throws Exception {
+        ByteBudget budget = new ByteBudget(100);
+        assertEquals(60, budget.acquire(60, 0));
+        assertEquals(-1, budget.tryAcquire(60));
+        assertEquals(-1, budget.acquire(60, 10));
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.acquire(60, TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1L;
+            }
+        });
+        budget.release(60);
+        assertEquals(60, waiting.get(10, TimeUnit.SECONDS).longValue());
+        assertEquals(60, budget.getUsed());
+        budget.release(60);
+
+        // larger than the whole budget, reduced to the budget
+        assertEquals(100, budget.acquire(1000, 0));
+        budget.release(100);
+        assertEquals(0, budget.getUsed());
+        assertEquals(0, new ByteBudget(0).acquire(1000, 0));
+    }
+
+    @Test
+    public void testScanWaitsForTheBudget() throws Exception {
+        ByteBudget budget = ((ScanComponent) scanner).getMemoryBudget();
+        long held = budget.acquire(budget.getCapacity(), 0);
+
+        CompletableFuture<ScanResult> scan = CompletableFuture.supplyAsync(
+                () -> scanner.identifyAsync("fake", Blobs.createBlob("SSN"), null, null)).thenCompose(r -> r);
+        Thread.sleep(200);
+        assertFalse(scan.isDone());
+        assertEquals(0, FakeScanProvider.CALLS.get());
+
+        budget.release(held);
+        assertFalse(scan.get(10, TimeUnit.SECONDS).isError());
+        assertEquals(1, FakeScanProvider.CALLS.get());
+        assertEquals(0, budget.getUsed());
+
+        scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+        assertEquals(0, budget.getUsed());
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.Serializable;
+import java.util.Calendar;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.EventContextImpl;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Test the re-submission of the documents left pending
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-default-provider-contrib.xml")
+public class TestPendingScanSweeper {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Inject
+    protected EventService eventService;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testStalePendingDocumentIsResubmitted() {
+        DocumentModel stale = createScannedDocument("stale");
+        DocumentModel recent = createScannedDocument("recent");
+
+        // the scan events were lost
+        Calendar past = Calendar.getInstance();
+        past.add(Calendar.HOUR, -2);
+        markPending(stale, past);
+        markPending(recent, Calendar.getInstance());
+        transactionalFeature.nextTransaction();
+
+        Counter resubmitted = new ScanMetrics().counter("sweeper", "resubmitted");
+        long before = resubmitted.getCount();
+        eventService.fireEvent(new EventContextImpl().newEvent(DLPScanConstants.DLP_SWEEP_PENDING_SCANS_EVENT));
+        transactionalFeature.nextTransaction();
+
+        stale = session.getDocument(stale.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, stale.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        recent = session.getDocument(recent.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_PENDING, recent.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertEquals(before + 1, resubmitted.getCount());
+    }
+
+    protected DocumentModel createScannedDocument(String name) {
+        DocumentModel doc = session.createDocumentModel("/", name, "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("my SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        return doc;
+    }
+
+    protected void markPending(DocumentModel doc, Calendar pendingDate) {
+        // changed content, the blobs already scanned are not submitted again
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("my new SSN"));
+        doc.setPropertyValue(DLPScanConstants.DLP_STATUS_PROP, DLPScanConstants.DLP_STATUS_PENDING);
+        doc.setPropertyValue(DLPScanConstants.DLP_PENDING_DATE_PROP, pendingDate);
+        doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+        session.saveDocument(doc);
+    }
+
+}
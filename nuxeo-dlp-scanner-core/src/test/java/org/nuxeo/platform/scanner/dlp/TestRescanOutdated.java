@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.EventContextImpl;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+import io.dropwizard.metrics5.Counter;
+
+/**
+ * Test the rescan of the documents scanned with another configuration
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-default-provider-contrib.xml")
+public class TestRescanOutdated {
+
+    protected static final String SSN = "US_SOCIAL_SECURITY_NUMBER";
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Inject
+    protected EventService eventService;
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testDocumentIsStamped() {
+        DocumentModel doc = createScannedDocument("stamped SSN");
+        assertEquals(scanner.getConfigFingerprint(), doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP));
+        assertArrayEquals(new String[] { SSN }, (String[]) doc.getPropertyValue(DLPScanConstants.DLP_INFOTYPES_PROP));
+
+        // nothing to do with the same configuration
+        FakeScanProvider.SCANNED.set(0);
+        fireRescanEvent();
+        assertEquals(0, FakeScanProvider.SCANNED.get());
+    }
+
+    @Test
+    public void testNewInfoTypesAreScanned() {
+        DocumentModel doc = createScannedDocument("widened SSN");
+        String previous = (String) doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP);
+
+        FakeScanProvider.infoTypes = Arrays.asList(SSN, "EMAIL_ADDRESS");
+        FakeScanProvider.SCANNED.set(0);
+        fireRescanEvent();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertNotEquals(previous, doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP));
+        assertEquals(scanner.getConfigFingerprint(), doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP));
+    }
+
+    @Test
+    public void testRemovedInfoTypesAreNotScanned() {
+        FakeScanProvider.infoTypes = Arrays.asList(SSN, "EMAIL_ADDRESS");
+        DocumentModel doc = createScannedDocument("narrowed SSN");
+
+        Counter narrowed = new ScanMetrics().counter("rescan", "narrowed");
+        long before = narrowed.getCount();
+        FakeScanProvider.infoTypes = Arrays.asList(SSN);
+        FakeScanProvider.SCANNED.set(0);
+        fireRescanEvent();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(0, FakeScanProvider.SCANNED.get());
+        assertEquals(before + 1, narrowed.getCount());
+        assertEquals(scanner.getConfigFingerprint(), doc.getPropertyValue(DLPScanConstants.DLP_FINGERPRINT_PROP));
+        assertTrue((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Serializable>> findings = (List<Map<String, Serializable>>) doc.getPropertyValue(
+                DLPScanConstants.DLP_FINDINGS);
+        assertEquals(1, findings.size());
+        assertEquals(SSN, findings.get(0).get("type"));
+
+        // info types it was not scanned for
+        FakeScanProvider.infoTypes = Arrays.asList("EMAIL_ADDRESS");
+        fireRescanEvent();
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+    }
+
+    @Test
+    public void testCappedFindingsAreScannedAgain() {
+        FakeScanProvider.infoTypes = Arrays.asList(SSN, "EMAIL_ADDRESS");
+        FakeScanProvider.maxFindings = 1;
+        createScannedDocument("capped SSN");
+
+        // the cap may have hidden findings of the info types still requested
+        Counter narrowed = new ScanMetrics().counter("rescan", "narrowed");
+        long before = narrowed.getCount();
+        FakeScanProvider.infoTypes = Arrays.asList(SSN);
+        FakeScanProvider.SCANNED.set(0);
+        fireRescanEvent();
+
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+        assertEquals(before, narrowed.getCount());
+    }
+
+    protected DocumentModel createScannedDocument(String content) {
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob(content));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+        return doc;
+    }
+
+    protected void fireRescanEvent() {
+        eventService.fireEvent(new EventContextImpl().newEvent(DLPScanConstants.DLP_RESCAN_OUTDATED_EVENT));
+        transactionalFeature.nextTransaction();
+    }
+
+}
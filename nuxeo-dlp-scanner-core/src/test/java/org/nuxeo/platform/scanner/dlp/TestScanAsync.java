@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the asynchronous scans and redactions: their failures are reported through the returned future
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestScanAsync {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testResultsMatchTheirBlobs() throws Exception {
+        List<CompletableFuture<ScanResult>> scans = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            scans.add(scanner.identifyAsync("fake", Blobs.createBlob(i % 2 == 0 ? "SSN " + i : "nothing " + i),
+                    null, null));
+        }
+        for (int i = 0; i < scans.size(); i++) {
+            ScanResult result = scans.get(i).get(10, TimeUnit.SECONDS);
+            assertFalse(result.isError());
+            assertEquals(i % 2 == 0, result.hasSensitiveData());
+        }
+
+        Blob redacted = scanner.redactAsync("fake", Blobs.createBlob("my SSN"), null).get(10, TimeUnit.SECONDS);
+        assertEquals("my ***", redacted.getString());
+    }
+
+    @Test
+    public void testInvalidArgumentsFailTheFuture() throws Exception {
+        assertFailed(scanner.identifyAsync("unknown", Blobs.createBlob("SSN"), null, null), NuxeoException.class);
+        assertFailed(scanner.identifyAsync("fake", null, null, null), IllegalArgumentException.class);
+
+        Blob oversized = Blobs.createBlob(StringUtils.repeat('x', (int) FakeScanProvider.MAX_SIZE + 1));
+        assertFailed(scanner.redactAsync("unknown", Blobs.createBlob("SSN"), null), NuxeoException.class);
+        assertFailed(scanner.redactAsync("fake", null, null), IllegalArgumentException.class);
+        assertFailed(scanner.redactAsync("fake", oversized, null), IllegalArgumentException.class);
+        assertEquals(0, FakeScanProvider.CALLS.get());
+    }
+
+    @Test
+    public void testProviderErrorsAreResults() throws Exception {
+        FakeScanProvider.errorCode = ScanResult.UNAVAILABLE;
+        ScanResult result = scanner.identifyAsync("fake", Blobs.createBlob("SSN"), null, null)
+                                   .get(10, TimeUnit.SECONDS);
+        assertTrue(result.isError());
+        assertEquals(ScanResult.UNAVAILABLE, result.getErrorCode());
+    }
+
+    protected void assertFailed(CompletableFuture<?> future, Class<? extends Throwable> cause) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("should have failed with " + cause.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().toString(), cause.isInstance(e.getCause()));
+        }
+    }
+
+}
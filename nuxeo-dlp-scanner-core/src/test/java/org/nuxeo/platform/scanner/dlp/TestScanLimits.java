@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the batches exceeding the provider limits are split instead of rejected
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestScanLimits {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testLargeBatchIsSplit() throws Exception {
+        List<Blob> blobs = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            blobs.add(Blobs.createBlob(i % 2 == 0 ? "SSN " + i : "nothing " + i));
+        }
+
+        List<ScanResult> results = scanner.identify("fake", blobs, null, null);
+        assertEquals(7, results.size());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i % 2 == 0, results.get(i).hasSensitiveData());
+        }
+        assertEquals(3, FakeScanProvider.CALLS.get());
+        assertEquals(7, FakeScanProvider.SCANNED.get());
+    }
+
+    @Test
+    public void testOversizedBlobIsReportedAsFailed() throws Exception {
+        List<Blob> blobs = new ArrayList<>();
+        blobs.add(Blobs.createBlob("SSN"));
+        blobs.add(Blobs.createBlob(StringUtils.repeat('x', (int) FakeScanProvider.MAX_SIZE + 1)));
+        blobs.add(Blobs.createBlob("nothing"));
+
+        List<ScanResult> results = scanner.identify("fake", blobs, null, null);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).hasSensitiveData());
+        assertTrue(results.get(1).isError());
+        assertFalse(results.get(2).isError());
+        assertEquals(2, FakeScanProvider.SCANNED.get());
+
+        assertTrue(scanner.identifyAsync("fake", blobs.get(1), null, null).get().isError());
+    }
+
+}
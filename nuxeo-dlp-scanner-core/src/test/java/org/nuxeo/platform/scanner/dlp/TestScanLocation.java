@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanLocation;
+
+/**
+ * Test the JSON form of the finding locations
+ */
+public class TestScanLocation {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ScanLocation location = new ScanLocation().setByteRange(10, 21)
+                                                  .setCodePointRange(9, 20)
+                                                  .setPageSize(540, 358)
+                                                  .addBox(120, 220, 124, 27)
+                                                  .addBox(1, 2, 3, 4)
+                                                  .addCell(3, "B", "Sheet \"1\"");
+        String json = location.toJson();
+
+        // same form as the one written with org.json
+        JSONObject parsed = new JSONObject(json);
+        assertTrue(parsed.getBoolean("hasByteRange"));
+        assertTrue(parsed.getBoolean("hasImageLocation"));
+        assertEquals(220, parsed.getJSONObject("firstImageLocation").getInt("left"));
+        assertEquals(2, parsed.getJSONArray("imageLocations").length());
+        assertEquals("Sheet \"1\"", parsed.getJSONArray("tableLocations").getJSONObject(0).getString("sheet"));
+
+        ScanLocation read = ScanLocation.fromJson(json);
+        assertEquals(10, read.getByteStart());
+        assertEquals(21, read.getByteEnd());
+        assertEquals(9, read.getCodePointStart());
+        assertEquals(20, read.getCodePointEnd());
+        assertEquals(540, read.getPageWidth());
+        assertEquals(358, read.getPageHeight());
+        assertArrayEquals(new int[] { 120, 220, 124, 27, 1, 2, 3, 4 }, read.getBoxes());
+        assertEquals(3, read.getCells().get(0).getRow());
+        assertEquals("B", read.getCells().get(0).getColumn());
+        assertEquals("Sheet \"1\"", read.getCells().get(0).getSheet());
+        assertEquals(json, read.toJson());
+    }
+
+    @Test
+    public void testReadStoredLocation() throws IOException {
+        ScanLocation location = ScanLocation.fromJson("{\"hasImageLocation\":true,\"pageNumber\":1,\"pageWidth\":540,"
+                + "\"pageHeight\":358,\"imageLocations\":[{\"top\":120,\"left\":220,\"width\":124,\"height\":27}],"
+                + "\"hasCodepointRange\":false,\"hasByteRange\":false,"
+                + "\"firstImageLocation\":{\"top\":120,\"left\":220,\"width\":124,\"height\":27}}");
+        assertEquals(1, location.getPageNumber());
+        assertEquals(1, location.getBoxCount());
+        assertFalse(location.hasByteRange());
+        assertFalse(location.hasCodePointRange());
+        assertTrue(location.getCells().isEmpty());
+
+        ScanFinding finding = new ScanFinding(true, "LIKELY", "US_SOCIAL_SECURITY_NUMBER", null,
+                "{\"hasByteRange\":true,\"byteRange\":{\"start\":10,\"end\":21}}");
+        assertEquals(10, finding.getLocation().getByteStart());
+        assertNull(new ScanFinding(true, "LIKELY", "IBAN_CODE", null, (String) null).getLocation());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidLocation() throws IOException {
+        ScanLocation.fromJson("[1, 2]");
+    }
+
+}
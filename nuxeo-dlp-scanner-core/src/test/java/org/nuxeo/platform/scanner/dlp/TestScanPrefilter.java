@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanMetrics;
+import org.nuxeo.platform.scanner.dlp.service.ScanPrefilter;
+import org.nuxeo.platform.scanner.dlp.service.ScanProvider;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the local prefilter gating the remote provider
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestScanPrefilter {
+
+    protected static final List<String> SSN = Collections.singletonList("US_SOCIAL_SECURITY_NUMBER");
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    protected ScanPrefilter newPrefilter(String... infoTypes) {
+        return new ScanPrefilter("local", Arrays.asList(infoTypes), new ScanMetrics());
+    }
+
+    @Test
+    public void testCleanBlobsAreNotForwarded() {
+        ScanPrefilter prefilter = newPrefilter("US_SOCIAL_SECURITY_NUMBER", "CREDIT_CARD_NUMBER");
+        long avoided = prefilter.getAvoidedCount();
+
+        List<Blob> blobs = Arrays.asList(Blobs.createBlob("My SSN is 192-54-2543"),
+                Blobs.createBlob("Nothing to see here"), Blobs.createBlob(new byte[] { 1, 2 }, "image/png"));
+        List<Boolean> needed = prefilter.filter(scanner.getProvider("local"), scanner.getProvider("fake"), blobs,
+                SSN);
+        // the image cannot be judged locally
+        assertEquals(Arrays.asList(true, false, true), needed);
+        assertEquals(avoided + 1, prefilter.getAvoidedCount());
+    }
+
+    @Test
+    public void testUngatedTypesAreForwarded() {
+        ScanPrefilter prefilter = newPrefilter("CREDIT_CARD_NUMBER");
+        ScanProvider local = scanner.getProvider("local");
+        ScanProvider fake = scanner.getProvider("fake");
+        List<Blob> blobs = Collections.singletonList(Blobs.createBlob("Nothing to see here"));
+
+        assertEquals(Collections.singletonList(true), prefilter.filter(local, fake, blobs, SSN));
+        // the fake provider does not tell its default features
+        assertEquals(Collections.singletonList(true), prefilter.filter(local, fake, blobs, null));
+        assertEquals(Collections.singletonList(false),
+                prefilter.filter(local, fake, blobs, Collections.singletonList("CREDIT_CARD_NUMBER")));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanComponent;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.platform.scanner.dlp.service.ScanResultCache;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the scan results are cached by digest and configuration
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+public class TestScanResultCache {
+
+    @Inject
+    protected DataLossPreventionScanner scanner;
+
+    protected ScanResultCache cache;
+
+    @Before
+    public void setUp() {
+        cache = ((ScanComponent) scanner).getResultCache();
+        assertNotNull(cache);
+        cache.invalidateAll();
+        FakeScanProvider.reset();
+    }
+
+    protected Blob getBlob(String content, String digest) {
+        Blob blob = Blobs.createBlob(content);
+        blob.setDigest(digest);
+        return blob;
+    }
+
+    @Test
+    public void testSameDigestIsScannedOnce() throws Exception {
+        long hits = cache.getStats().hitCount();
+
+        ScanResult first = scanner.identify("fake", getBlob("SSN", "digest1"), null, null);
+        ScanResult second = scanner.identify("fake", getBlob("SSN", "digest1"), null, null);
+
+        assertTrue(first.hasSensitiveData());
+        assertTrue(second.hasSensitiveData());
+        assertEquals(1, FakeScanProvider.SCANNED.get());
+        assertEquals(hits + 1, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void testConfigurationIsPartOfTheKey() throws Exception {
+        scanner.identify("fake", getBlob("SSN", "digest2"), null, null);
+        scanner.identify("fake", getBlob("SSN", "digest2"), Collections.singletonList("IBAN_CODE"), null);
+        scanner.identify("fake", getBlob("SSN", "digest2"), null, 10);
+
+        assertEquals(3, FakeScanProvider.SCANNED.get());
+    }
+
+    @Test
+    public void testBatchScansOnlyMisses() throws Exception {
+        scanner.identify("fake", getBlob("SSN", "digest3"), null, null);
+
+        List<ScanResult> results = scanner.identify("fake",
+                Arrays.asList(getBlob("nothing", "digest4"), getBlob("SSN", "digest3"), getBlob("SSN", "digest5")),
+                null, null);
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).hasSensitiveData());
+        assertTrue(results.get(1).hasSensitiveData());
+        assertTrue(results.get(2).hasSensitiveData());
+        assertEquals(3, FakeScanProvider.SCANNED.get());
+    }
+
+    @Test
+    public void testBlobWithoutDigestIsNotCached() throws Exception {
+        scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+        scanner.identify("fake", Blobs.createBlob("SSN"), null, null);
+
+        assertEquals(2, FakeScanProvider.SCANNED.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFailedResultIsNotCached() {
+        String key = ScanResultCache.getKey("fake", getBlob("SSN", "digest6"), "config");
+        cache.put(key, ScanResult.makeFailed());
+        assertEquals(null, cache.get(key));
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.service.ScanFinding;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.platform.scanner.dlp.service.ScanResultCache;
+import org.nuxeo.platform.scanner.dlp.service.ScanResultStore;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Test the cluster wide scan result store against the in memory key/value store
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+public class TestScanResultStore {
+
+    protected static final String LOCATION = "{\"hasByteRange\":true,\"byteRange\":{\"start\":10,\"end\":21}}";
+
+    protected ScanResult newResult() {
+        return new ScanResult(Arrays.asList(
+                new ScanFinding(true, "LIKELY", "US_SOCIAL_SECURITY_NUMBER", "192-54-2543", LOCATION),
+                new ScanFinding(false, "POSSIBLE", "IBAN_CODE", null, (String) null)));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ScanResult result = ScanResultStore.deserialize(ScanResultStore.serialize(newResult()));
+
+        assertTrue(result.hasSensitiveData());
+        assertFalse(result.isError());
+        assertEquals(2, result.getFindings().size());
+        ScanFinding finding = result.getFindings().get(0);
+        assertTrue(finding.hasSensitiveData());
+        assertEquals("LIKELY", finding.getScore());
+        assertEquals("US_SOCIAL_SECURITY_NUMBER", finding.getType());
+        assertEquals("192-54-2543", finding.getInfo());
+        assertEquals(LOCATION, finding.getLocationJsonStr());
+        assertNull(result.getFindings().get(1).getInfo());
+        assertNull(result.getFindings().get(1).getLocationJsonStr());
+    }
+
+    @Test
+    public void testSharedBetweenCaches() {
+        ScanResultStore store = new ScanResultStore("dlpScanCacheTest", 60);
+        // two nodes, each with its own in memory cache
+        ScanResultCache node1 = new ScanResultCache(100, 60, store);
+        ScanResultCache node2 = new ScanResultCache(100, 60, store);
+
+        node1.put("google:digest:config", newResult());
+
+        ScanResult result = node2.get("google:digest:config");
+        assertNotNull(result);
+        assertTrue(result.hasSensitiveData());
+        assertEquals(1, node2.getSecondLevelHitCount());
+
+        // promoted to the in memory level
+        assertNotNull(node2.get("google:digest:config"));
+        assertEquals(1, node2.getSecondLevelHitCount());
+    }
+
+    @Test
+    public void testFailedResultIsNotStored() {
+        ScanResultStore store = new ScanResultStore("dlpScanCacheTest", 60);
+        store.put("google:failed:config", ScanResult.makeFailed());
+        assertNull(store.get("google:failed:config"));
+        assertNull(store.get("google:unknown:config"));
+    }
+
+}
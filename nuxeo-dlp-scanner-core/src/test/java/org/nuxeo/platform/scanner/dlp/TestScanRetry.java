@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Calendar;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.event.impl.EventContextImpl;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.platform.scanner.dlp.listeners.DLPScanRetryPolicy;
+import org.nuxeo.platform.scanner.dlp.service.ScanResult;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * Test the retries of the failed scans
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.test")
+@Deploy("org.nuxeo.platform.scanner.dlp.core")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-provider-contrib.xml")
+@Deploy("org.nuxeo.platform.scanner.dlp.core:test-default-provider-contrib.xml")
+public class TestScanRetry {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Inject
+    protected EventService eventService;
+
+    @Before
+    public void setUp() {
+        FakeScanProvider.reset();
+    }
+
+    @After
+    public void tearDown() {
+        FakeScanProvider.reset();
+    }
+
+    @Test
+    public void testBackoff() {
+        DLPScanRetryPolicy policy = new DLPScanRetryPolicy(true, 4, 1000, 5000);
+        assertEquals(1000, policy.getDelay(1));
+        assertEquals(2000, policy.getDelay(2));
+        assertEquals(4000, policy.getDelay(3));
+        assertEquals(5000, policy.getDelay(4));
+        assertEquals(-1, policy.getDelay(5));
+        assertEquals(-1, new DLPScanRetryPolicy(false, 4, 1000, 5000).getDelay(1));
+    }
+
+    @Test
+    public void testFailedScanIsRetried() {
+        FakeScanProvider.errorCode = ScanResult.UNAVAILABLE;
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.setPropertyValue("file:content", (Serializable) Blobs.createBlob("my SSN"));
+        doc = session.createDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_FAILED, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertEquals(Long.valueOf(1), doc.getPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP));
+        assertNotNull(doc.getPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP));
+
+        // not due yet
+        fireRetryEvent();
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_FAILED, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+
+        FakeScanProvider.errorCode = null;
+        Calendar past = Calendar.getInstance();
+        past.add(Calendar.HOUR, -1);
+        doc.setPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP, past);
+        doc.putContextData(DLPScanConstants.DISABLE_DLP_LISTENER, true);
+        session.saveDocument(doc);
+        transactionalFeature.nextTransaction();
+
+        fireRetryEvent();
+        doc = session.getDocument(doc.getRef());
+        assertEquals(DLPScanConstants.DLP_STATUS_DONE, doc.getPropertyValue(DLPScanConstants.DLP_STATUS_PROP));
+        assertTrue((Boolean) doc.getPropertyValue(DLPScanConstants.DLP_SENSITIVE_DATA));
+        assertNull(doc.getPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP));
+        assertNull(doc.getPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP));
+    }
+
+    @Test
+    public void testRetriesAreExhausted() {
+        DLPScanRetryPolicy policy = new DLPScanRetryPolicy(true, 1, 1000, 1000);
+        DocumentModel doc = session.createDocumentModel("/", "doc", "File");
+        doc.addFacet(DLPScanConstants.DLP_FACET);
+        assertTrue(policy.onFailure(doc));
+        assertEquals(Long.valueOf(1), doc.getPropertyValue(DLPScanConstants.DLP_RETRY_COUNT_PROP));
+        assertFalse(policy.onFailure(doc));
+        assertNull(doc.getPropertyValue(DLPScanConstants.DLP_NEXT_RETRY_PROP));
+    }
+
+    protected void fireRetryEvent() {
+        eventService.fireEvent(new EventContextImpl().newEvent(DLPScanConstants.DLP_RETRY_FAILED_SCANS_EVENT));
+        transactionalFeature.nextTransaction();
+    }
+
+}
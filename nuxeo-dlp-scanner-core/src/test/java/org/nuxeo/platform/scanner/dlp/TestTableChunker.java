@@ -0,0 +1,171 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.platform.scanner.dlp.google.TableChunker;
+import org.nuxeo.platform.scanner.dlp.google.TableChunker.TableChunk;
+
+import com.google.privacy.dlp.v2.ContentLocation;
+import com.google.privacy.dlp.v2.FieldId;
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.Location;
+import com.google.privacy.dlp.v2.RecordLocation;
+import com.google.privacy.dlp.v2.Table;
+import com.google.privacy.dlp.v2.TableLocation;
+
+/**
+ * Test the streaming of tabular blobs in chunks and the rebase of their findings
+ */
+public class TestTableChunker {
+
+    @Test
+    public void testCsvChunks() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            csv.append("name").append(i).append(",\"192-54-25").append(i).append(i).append("\"\n");
+        }
+        csv.append("last,one,extra\n");
+        Blob blob = Blobs.createBlob(csv.toString(), TableChunker.CSV_MIME_TYPE);
+
+        List<TableChunk> chunks = new ArrayList<>();
+        TableChunker.read(blob, 4, 100000, chunks::add);
+        assertEquals(3, chunks.size());
+        assertEquals(4, chunks.get(0).getRowCount());
+        assertEquals(4, chunks.get(1).getRowIndex(0));
+        assertEquals(10, chunks.get(2).getRowIndex(2));
+
+        Table table = chunks.get(2).toTable();
+        assertEquals(Arrays.asList("A", "B", "C"),
+                Arrays.asList(table.getHeaders(0).getName(), table.getHeaders(1).getName(),
+                        table.getHeaders(2).getName()));
+        assertEquals("192-54-2588", table.getRows(0).getValues(1).getStringValue());
+        // padded to the widest row
+        assertEquals("", table.getRows(0).getValues(2).getStringValue());
+    }
+
+    @Test
+    public void testChunksBoundedBySize() throws IOException {
+        Blob blob = Blobs.createBlob("aaaaaaaaaa\tbbbbbbbbbb\ncccccccccc\tdddddddddd\n", TableChunker.TSV_MIME_TYPE);
+        List<TableChunk> chunks = new ArrayList<>();
+        TableChunker.read(blob, 1000, 30, chunks::add);
+        assertEquals(2, chunks.size());
+        assertEquals(2, chunks.get(0).toTable().getHeadersCount());
+    }
+
+    @Test
+    public void testChunksBoundedByUtf8Size() throws IOException {
+        // 10 characters but 20 bytes per cell
+        Blob blob = Blobs.createBlob("éééééééééé\nèèèèèèèèèè\n", TableChunker.CSV_MIME_TYPE);
+        List<TableChunk> chunks = new ArrayList<>();
+        TableChunker.read(blob, 1000, 40, chunks::add);
+        assertEquals(2, chunks.size());
+    }
+
+    @Test
+    public void testStopReading() throws IOException {
+        Blob blob = Blobs.createBlob("a\nb\nc\nd\n", TableChunker.CSV_MIME_TYPE);
+        List<TableChunk> chunks = new ArrayList<>();
+        TableChunker.read(blob, 1, 1000, chunk -> chunks.add(chunk) && chunks.size() < 2);
+        assertEquals(2, chunks.size());
+    }
+
+    @Test
+    public void testXlsxSheets() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet people = workbook.createSheet("people");
+            for (int i = 0; i < 3; i++) {
+                Row row = people.createRow(i * 2);
+                row.createCell(0).setCellValue("person " + i);
+                row.createCell(2).setCellValue("192-54-254" + i);
+            }
+            workbook.createSheet("other").createRow(5).createCell(1).setCellValue("nothing");
+            workbook.write(out);
+        }
+        Blob blob = Blobs.createBlob(out.toByteArray(), TableChunker.XLSX_MIME_TYPE);
+        blob.setFilename("test.xlsx");
+
+        List<TableChunk> chunks = new ArrayList<>();
+        TableChunker.read(blob, 2, 100000, chunks::add);
+        assertEquals(3, chunks.size());
+        assertEquals("people", chunks.get(0).getSheet());
+        // empty rows are skipped
+        assertEquals(2, chunks.get(0).getRowIndex(1));
+        assertEquals(4, chunks.get(1).getRowIndex(0));
+        assertEquals("other", chunks.get(2).getSheet());
+        assertEquals(5, chunks.get(2).getRowIndex(0));
+
+        Table table = chunks.get(0).toTable();
+        assertEquals(3, table.getHeadersCount());
+        assertEquals("192-54-2541", table.getRows(1).getValues(2).getStringValue());
+        assertEquals("", table.getRows(1).getValues(1).getStringValue());
+    }
+
+    @Test
+    public void testRebaseAndMerge() {
+        TableChunk first = new TableChunk("people", Arrays.asList(Arrays.asList("a"), Arrays.asList("b")),
+                Arrays.asList(0L, 2L));
+        TableChunk second = new TableChunk(null, Arrays.asList(Arrays.asList("c")), Arrays.asList(7L));
+
+        Finding rebased = TableChunker.rebase(newFinding(1, "C"), first);
+        ContentLocation location = rebased.getLocation().getContentLocations(0);
+        assertEquals(2, location.getRecordLocation().getTableLocation().getRowIndex());
+        assertEquals("C", location.getRecordLocation().getFieldId().getName());
+        assertEquals("people", location.getContainerName());
+
+        Finding other = TableChunker.rebase(newFinding(0, "A"), second);
+        location = other.getLocation().getContentLocations(0);
+        assertEquals(7, location.getRecordLocation().getTableLocation().getRowIndex());
+        assertTrue(location.getContainerName().isEmpty());
+
+        List<Finding> merged = TableChunker.merge(Arrays.asList(Arrays.asList(other), Arrays.asList(rebased)), 1);
+        assertEquals(1, merged.size());
+        assertEquals(rebased, merged.get(0));
+        assertFalse(TableChunker.isTabular("text/plain"));
+    }
+
+    protected static Finding newFinding(long row, String column) {
+        RecordLocation record = RecordLocation.newBuilder()
+                                              .setFieldId(FieldId.newBuilder().setName(column))
+                                              .setTableLocation(TableLocation.newBuilder().setRowIndex(row))
+                                              .build();
+        return Finding.newBuilder()
+                      .setLocation(Location.newBuilder()
+                                           .addContentLocations(
+                                                   ContentLocation.newBuilder().setRecordLocation(record)))
+                      .build();
+    }
+
+}
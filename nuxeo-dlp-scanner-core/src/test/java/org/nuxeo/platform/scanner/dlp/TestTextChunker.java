@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.platform.scanner.dlp.google.TextChunker;
+import org.nuxeo.platform.scanner.dlp.google.TextChunker.TextChunk;
+
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.InfoType;
+import com.google.privacy.dlp.v2.Location;
+import com.google.privacy.dlp.v2.Range;
+
+/**
+ * Test the split of large texts and the merge of the findings of the chunks
+ */
+public class TestTextChunker {
+
+    protected static final String TEXT = "Héllo wörld, my SSN is 192-54-2543 ∑ 😀 and my card 4111 1111 1111 1111.";
+
+    @Test
+    public void testSplitCoversText() {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        int[] codePoints = TEXT.codePoints().toArray();
+        List<TextChunk> chunks = TextChunker.split(TEXT, 16, 6);
+        assertTrue(chunks.size() > 1);
+
+        long covered = 0;
+        for (TextChunk chunk : chunks) {
+            byte[] chunkBytes = chunk.getText().getBytes(StandardCharsets.UTF_8);
+            assertTrue(chunkBytes.length <= 16);
+            int offset = (int) chunk.getByteOffset();
+            assertArrayEquals(Arrays.copyOfRange(bytes, offset, offset + chunkBytes.length), chunkBytes);
+            // chunks never start after the end of the previous one
+            assertTrue(chunk.getByteOffset() <= covered);
+            int cpOffset = (int) chunk.getCodePointOffset();
+            int cpCount = chunk.getText().codePointCount(0, chunk.getText().length());
+            assertEquals(new String(codePoints, cpOffset, cpCount), chunk.getText());
+            covered = offset + chunkBytes.length;
+        }
+        assertEquals(bytes.length, covered);
+    }
+
+    @Test
+    public void testSplitSmallText() {
+        List<TextChunk> chunks = TextChunker.split(TEXT, 1000, 10);
+        assertEquals(1, chunks.size());
+        assertEquals(TEXT, chunks.get(0).getText());
+        assertEquals(0, chunks.get(0).getByteOffset());
+    }
+
+    @Test
+    public void testMergeRebasesAndDeduplicates() {
+        List<TextChunk> chunks = Arrays.asList(new TextChunk("a", 0, 0), new TextChunk("b", 100, 90));
+        // same SSN seen whole by both chunks, a card number truncated by the first chunk
+        List<Finding> first = Arrays.asList(newFinding("US_SOCIAL_SECURITY_NUMBER", 95, 106),
+                newFinding("CREDIT_CARD_NUMBER", 110, 115));
+        List<Finding> second = Arrays.asList(newFinding("US_SOCIAL_SECURITY_NUMBER", -5, 6),
+                newFinding("CREDIT_CARD_NUMBER", 10, 29));
+
+        List<Finding> merged = TextChunker.merge(chunks, Arrays.asList(first, second), 0);
+        assertEquals(2, merged.size());
+        assertEquals("US_SOCIAL_SECURITY_NUMBER", merged.get(0).getInfoType().getName());
+        assertEquals(95, merged.get(0).getLocation().getByteRange().getStart());
+        assertEquals("CREDIT_CARD_NUMBER", merged.get(1).getInfoType().getName());
+        assertEquals(110, merged.get(1).getLocation().getByteRange().getStart());
+        assertEquals(129, merged.get(1).getLocation().getByteRange().getEnd());
+        assertEquals(100, merged.get(1).getLocation().getCodepointRange().getStart());
+
+        assertEquals(1, TextChunker.merge(chunks, Arrays.asList(first, Collections.emptyList()), 1).size());
+    }
+
+    protected static Finding newFinding(String type, long start, long end) {
+        Range range = Range.newBuilder().setStart(start).setEnd(end).build();
+        return Finding.newBuilder()
+                      .setInfoType(InfoType.newBuilder().setName(type))
+                      .setLocation(Location.newBuilder().setByteRange(range).setCodepointRange(range))
+                      .build();
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.platform.scanner.dlp.google.TextPacker;
+
+import com.google.privacy.dlp.v2.Finding;
+import com.google.privacy.dlp.v2.InfoType;
+import com.google.privacy.dlp.v2.Location;
+import com.google.privacy.dlp.v2.Range;
+
+/**
+ * Test the packing of small texts and the split of the findings of the packed text
+ */
+public class TestTextPacker {
+
+    @Test
+    public void testPackLimits() {
+        TextPacker pack = new TextPacker(20, 2);
+        assertTrue(pack.add(0, "0123456789"));
+        // separator does not fit
+        assertFalse(pack.add(1, "0123456789"));
+        assertTrue(pack.add(1, "ab"));
+        assertFalse(pack.add(2, "c"));
+        assertEquals(2, pack.size());
+        assertEquals("0123456789" + TextPacker.SEPARATOR + "ab", pack.getText());
+        assertEquals(pack.getText().getBytes(StandardCharsets.UTF_8).length, pack.getByteLength());
+        assertFalse(new TextPacker(5, 10).add(0, "too long"));
+    }
+
+    @Test
+    public void testSplitRebasesFindings() {
+        TextPacker pack = new TextPacker(1000, 10);
+        pack.add(3, "héllo SSN 192-54-2543");
+        pack.add(7, "∑ card 4111 1111 1111 1111");
+        pack.add(9, "nothing");
+        String text = pack.getText();
+
+        long ssnByte = indexOfBytes(text, "192-54-2543");
+        long cardByte = indexOfBytes(text, "4111");
+        long cardCodePoint = text.codePointCount(0, text.indexOf("4111"));
+        long secondByte = indexOfBytes(text, "∑");
+        long secondCodePoint = text.codePointCount(0, text.indexOf("∑"));
+        List<Finding> findings = Arrays.asList(
+                newFinding("CREDIT_CARD_NUMBER", cardByte, cardByte + 19, cardCodePoint, cardCodePoint + 19),
+                newFinding("US_SOCIAL_SECURITY_NUMBER", ssnByte, ssnByte + 11, ssnByte - 1, ssnByte + 10),
+                // across the separator
+                newFinding("PHONE_NUMBER", ssnByte + 5, secondByte + 2, 0, 0));
+
+        List<List<Finding>> split = pack.split(findings, 0);
+        assertEquals(Arrays.asList(3, 7, 9), pack.getIndexes());
+        assertEquals(3, split.size());
+        assertEquals(1, split.get(0).size());
+        assertEquals(11, split.get(0).get(0).getLocation().getByteRange().getStart());
+        assertEquals(1, split.get(1).size());
+        Location card = split.get(1).get(0).getLocation();
+        assertEquals(cardByte - secondByte, card.getByteRange().getStart());
+        assertEquals(7, card.getCodepointRange().getStart());
+        assertEquals(cardCodePoint - secondCodePoint, card.getCodepointRange().getStart());
+        assertTrue(split.get(2).isEmpty());
+    }
+
+    protected static long indexOfBytes(String text, String search) {
+        return text.substring(0, text.indexOf(search)).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    protected static Finding newFinding(String type, long start, long end, long cpStart, long cpEnd) {
+        return Finding.newBuilder()
+                      .setInfoType(InfoType.newBuilder().setName(type))
+                      .setLocation(Location.newBuilder()
+                                           .setByteRange(Range.newBuilder().setStart(start).setEnd(end))
+                                           .setCodepointRange(Range.newBuilder().setStart(cpStart).setEnd(cpEnd)))
+                      .build();
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2025 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.platform.scanner.dlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.platform.scanner.dlp.service.TextSource;
+
+/**
+ * Test the use of the registered fulltext instead of a conversion
+ */
+public class TestTextSource {
+
+    @Test
+    public void testRegisteredFulltextSkipsConversion() throws IOException {
+        Blob blob = Blobs.createBlob(new byte[] { 1, 2, 3 },
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+        blob.setDigest("d41d8cd98f00b204e9800998ecf8427e");
+        blob.setFilename("ssn.docx");
+        TextSource.registerFulltext(blob, "my SSN is 192-54-2543");
+
+        long skipped = TextSource.getSkippedConversions();
+        Blob text = TextSource.getText(blob);
+        assertEquals("my SSN is 192-54-2543", text.getString());
+        assertEquals("text/plain", text.getMimeType());
+        assertEquals("ssn.docx", text.getFilename());
+        assertEquals(skipped + 1, TextSource.getSkippedConversions());
+
+        // only for the scan it was registered for
+        assertTrue(TextSource.hasFulltext(blob));
+        TextSource.unregisterFulltext(blob);
+        assertFalse(TextSource.hasFulltext(blob));
+    }
+
+}